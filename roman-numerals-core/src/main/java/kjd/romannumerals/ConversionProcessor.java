@@ -0,0 +1,583 @@
+package kjd.romannumerals;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * {@link Flow.Processor} converting a stream of values, either Integers to RomanNumerals
+ * ({@link #toNumerals(BiConsumer)}) or numeral Strings to Integers ({@link #toIntegers(BiConsumer)}).
+ * <p>
+ * Items received from upstream are gathered into batches which are converted on the supplied
+ * {@link Executor}.  Up to {@code parallelism} batches may convert at once, but results are always
+ * published in the order they were received.  A batch is handed to the Executor once it is full.
+ * A partial batch is handed over once every item requested from upstream has arrived, when upstream
+ * completes, or when the downstream Subscriber is waiting with nothing else converting; items
+ * delivered within a call to request are batched, so a synchronous source is converted a batch at
+ * a time even on the calling thread, while a source which goes quiet isn't left waiting on a full
+ * batch.
+ * <p>
+ * Backpressure is honoured in both directions: items are only published as the downstream
+ * Subscriber requests them, and no more than {@code batchSize * (parallelism + 1)} items are
+ * requested from upstream ahead of being published.
+ * <p>
+ * Items which fail to convert do not terminate the stream.  They are passed, in order, to the
+ * invalid item handler along with the exception thrown, and do not count against downstream demand.
+ * Anything else which goes wrong (an Error thrown by the converter, a rejected batch or an invalid
+ * request) terminates the stream; like every downstream signal, the onError is only sent by the
+ * thread publishing items, never alongside an onNext.
+ * <p>
+ * A ConversionProcessor supports a single upstream Publisher and a single downstream Subscriber.
+ *
+ * @author kendavidson
+ *
+ * @param <T> the type converted from
+ * @param <R> the type converted to
+ *
+ * @since 0.0.1
+ */
+public class ConversionProcessor<T, R> implements Flow.Processor<T, R> {
+
+	/**
+	 * Default number of items per batch.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	/**
+	 * Batch of items converted as a single Executor task.
+	 */
+	private final class Batch implements Runnable {
+		private final Object[] items;
+		private final Object[] results;
+		private final RuntimeException[] errors;
+		private volatile boolean complete;
+		private int published;
+
+		private Batch(Object[] items) {
+			this.items = items;
+			this.results = new Object[items.length];
+			this.errors = new RuntimeException[items.length];
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void run() {
+			try {
+				for (int i = 0; i < items.length; i++) {
+					try {
+						results[i] = converter.apply((T) items[i]);
+					} catch (RuntimeException e) {
+						errors[i] = e;
+					}
+				}
+			} catch (Throwable t) {
+				fail(t);
+			} finally {
+				complete = true;
+				batchComplete();
+			}
+		}
+	}
+
+	/**
+	 * Subscription handed to the downstream Subscriber.
+	 */
+	private final Flow.Subscription subscription = new Flow.Subscription() {
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				fail(new IllegalArgumentException("Requested items must be greater than 0"));
+				return;
+			}
+			long current, next;
+			do {
+				current = demand.get();
+				next = current + n < 0 ? Long.MAX_VALUE : current + n;
+			} while (!demand.compareAndSet(current, next));
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelUpstream();
+		}
+	};
+
+	private final Function<? super T, ? extends R> converter;
+
+	private final BiConsumer<? super T, ? super RuntimeException> invalidHandler;
+
+	private final Executor executor;
+
+	private final int batchSize;
+
+	private final int parallelism;
+
+	/**
+	 * Items requested by the downstream Subscriber and not yet published.
+	 */
+	private final AtomicLong demand = new AtomicLong();
+
+	/**
+	 * Work in progress counter ensuring only one thread signals downstream at a time.
+	 */
+	private final AtomicInteger wip = new AtomicInteger();
+
+	/*
+	 * Remaining state is guarded by this.
+	 */
+	private final ArrayDeque<Batch> batches = new ArrayDeque<Batch>();
+	private final ArrayDeque<Batch> pending = new ArrayDeque<Batch>();
+	private Flow.Subscription upstream;
+	private Flow.Subscriber<? super R> downstream;
+	private Object[] accumulating;
+	private int accumulated;
+	private int converting;
+	private long outstanding;
+	private long buffered;
+	private boolean upstreamDone;
+	private boolean requesting;
+	private Throwable error;
+	private Throwable failure;
+	private boolean cancelled;
+	private boolean terminated;
+
+	/**
+	 * Creates a new ConversionProcessor converting items on the calling thread, using the
+	 * default batch size.
+	 *
+	 * @param converter
+	 * @param invalidHandler
+	 */
+	public ConversionProcessor(Function<? super T, ? extends R> converter,
+			BiConsumer<? super T, ? super RuntimeException> invalidHandler) {
+		this(converter, invalidHandler, Runnable::run, DEFAULT_BATCH_SIZE, 1);
+	}
+
+	/**
+	 * Creates a new ConversionProcessor.
+	 *
+	 * @param converter function converting each item, throwing a RuntimeException for invalid items
+	 * @param invalidHandler receives each item which failed to convert
+	 * @param executor runs batch conversions
+	 * @param batchSize maximum number of items per batch
+	 * @param parallelism number of batches which may be converting at once
+	 * @throws IllegalArgumentException if batchSize or parallelism are less than 1
+	 */
+	public ConversionProcessor(Function<? super T, ? extends R> converter,
+			BiConsumer<? super T, ? super RuntimeException> invalidHandler,
+			Executor executor, int batchSize, int parallelism) {
+		if (converter == null || invalidHandler == null || executor == null) {
+			throw new IllegalArgumentException("Converter, invalid handler and executor are required");
+		}
+		if (batchSize < 1 || parallelism < 1) {
+			throw new IllegalArgumentException("Batch size and parallelism must be at least 1");
+		}
+
+		this.converter = converter;
+		this.invalidHandler = invalidHandler;
+		this.executor = executor;
+		this.batchSize = batchSize;
+		this.parallelism = parallelism;
+		this.accumulating = new Object[batchSize];
+	}
+
+	/**
+	 * Creates a ConversionProcessor converting Integers to RomanNumerals on the calling thread.
+	 *
+	 * @param invalidHandler
+	 * @return
+	 */
+	public static ConversionProcessor<Integer, RomanNumeral> toNumerals(
+			BiConsumer<? super Integer, ? super RuntimeException> invalidHandler) {
+		return new ConversionProcessor<Integer, RomanNumeral>(RomanNumeral::new, invalidHandler);
+	}
+
+	/**
+	 * Creates a ConversionProcessor converting Integers to RomanNumerals on the supplied Executor.
+	 *
+	 * @param invalidHandler
+	 * @param executor
+	 * @param batchSize
+	 * @param parallelism
+	 * @return
+	 */
+	public static ConversionProcessor<Integer, RomanNumeral> toNumerals(
+			BiConsumer<? super Integer, ? super RuntimeException> invalidHandler,
+			Executor executor, int batchSize, int parallelism) {
+		return new ConversionProcessor<Integer, RomanNumeral>(RomanNumeral::new, invalidHandler,
+				executor, batchSize, parallelism);
+	}
+
+	/**
+	 * Creates a ConversionProcessor converting numeral Strings to Integers on the calling thread.
+	 *
+	 * @param invalidHandler
+	 * @return
+	 */
+	public static ConversionProcessor<String, Integer> toIntegers(
+			BiConsumer<? super String, ? super RuntimeException> invalidHandler) {
+		return new ConversionProcessor<String, Integer>(s -> new RomanNumeral(s).toInteger(), invalidHandler);
+	}
+
+	/**
+	 * Creates a ConversionProcessor converting numeral Strings to Integers on the supplied Executor.
+	 *
+	 * @param invalidHandler
+	 * @param executor
+	 * @param batchSize
+	 * @param parallelism
+	 * @return
+	 */
+	public static ConversionProcessor<String, Integer> toIntegers(
+			BiConsumer<? super String, ? super RuntimeException> invalidHandler,
+			Executor executor, int batchSize, int parallelism) {
+		return new ConversionProcessor<String, Integer>(s -> new RomanNumeral(s).toInteger(), invalidHandler,
+				executor, batchSize, parallelism);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see kjd.romannumerals.Flow.Publisher#subscribe(kjd.romannumerals.Flow.Subscriber)
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super R> subscriber) {
+		boolean accepted;
+		synchronized (this) {
+			accepted = downstream == null;
+			if (accepted) {
+				downstream = subscriber;
+			}
+		}
+
+		if (!accepted) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override public void request(long n) { }
+				@Override public void cancel() { }
+			});
+			subscriber.onError(new IllegalStateException("ConversionProcessor supports a single Subscriber"));
+			return;
+		}
+
+		subscriber.onSubscribe(subscription);
+		drain();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see kjd.romannumerals.Flow.Subscriber#onSubscribe(kjd.romannumerals.Flow.Subscription)
+	 */
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		boolean accepted;
+		synchronized (this) {
+			accepted = upstream == null && !cancelled && failure == null;
+			if (accepted) {
+				upstream = subscription;
+			}
+		}
+
+		if (!accepted) {
+			subscription.cancel();
+			return;
+		}
+		drain();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see kjd.romannumerals.Flow.Subscriber#onNext(java.lang.Object)
+	 */
+	@Override
+	public void onNext(T item) {
+		if (item == null) {
+			throw new NullPointerException("Items cannot be null");
+		}
+
+		Batch batch = null;
+		synchronized (this) {
+			if (upstreamDone || cancelled) {
+				return;
+			}
+			outstanding--;
+			buffered++;
+			accumulating[accumulated++] = item;
+			if (accumulated == batchSize) {
+				takeBatch();
+			}
+			batch = nextBatch();
+		}
+
+		dispatch(batch);
+		drain();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see kjd.romannumerals.Flow.Subscriber#onError(java.lang.Throwable)
+	 */
+	@Override
+	public void onError(Throwable throwable) {
+		upstreamTerminated(throwable);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see kjd.romannumerals.Flow.Subscriber#onComplete()
+	 */
+	@Override
+	public void onComplete() {
+		upstreamTerminated(null);
+	}
+
+	private void upstreamTerminated(Throwable throwable) {
+		Batch batch = null;
+		synchronized (this) {
+			if (upstreamDone) {
+				return;
+			}
+			upstreamDone = true;
+			error = throwable;
+			batch = nextBatch();
+		}
+
+		dispatch(batch);
+		drain();
+	}
+
+	/**
+	 * Moves the accumulated items into a new Batch, queued for publishing behind those already
+	 * taken and pending dispatch.  Must be called while holding the lock.
+	 */
+	private void takeBatch() {
+		Object[] items;
+		if (accumulated == batchSize) {
+			items = accumulating;
+			accumulating = new Object[batchSize];
+		} else {
+			items = Arrays.copyOf(accumulating, accumulated);
+			Arrays.fill(accumulating, 0, accumulated, null);
+		}
+		accumulated = 0;
+
+		Batch batch = new Batch(items);
+		batches.add(batch);
+		pending.add(batch);
+	}
+
+	/**
+	 * Returns the next Batch to hand to the Executor, or null if parallelism is exhausted or
+	 * nothing is ready.  Accumulated items are taken as a partial batch once no more are expected
+	 * from upstream for now, or when downstream is waiting on them and they aren't arriving as part
+	 * of a request.  Must be called while holding the lock.
+	 *
+	 * @return
+	 */
+	private Batch nextBatch() {
+		if (cancelled || failure != null || converting >= parallelism) {
+			return null;
+		}
+		if (pending.isEmpty() && accumulated > 0 && (outstanding == 0 || upstreamDone
+				|| (!requesting && converting == 0 && demand.get() > 0))) {
+			takeBatch();
+		}
+		Batch batch = pending.poll();
+		if (batch != null) {
+			converting++;
+		}
+		return batch;
+	}
+
+	/**
+	 * Hands a Batch to the Executor, failing the stream if it is rejected.
+	 *
+	 * @param batch
+	 */
+	private void dispatch(Batch batch) {
+		if (batch == null) {
+			return;
+		}
+		try {
+			executor.execute(batch);
+		} catch (RejectedExecutionException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Called by a Batch once converted; dispatches the next batch waiting on parallelism.
+	 */
+	private void batchComplete() {
+		Batch batch;
+		synchronized (this) {
+			converting--;
+			batch = nextBatch();
+		}
+
+		dispatch(batch);
+		drain();
+	}
+
+	/**
+	 * Terminates the stream with an error, discarding anything not yet published and cancelling
+	 * upstream.  The error is signalled downstream by {@link #drain()}.
+	 *
+	 * @param throwable
+	 */
+	private void fail(Throwable throwable) {
+		Flow.Subscription subscription;
+		synchronized (this) {
+			if (terminated || failure != null) {
+				return;
+			}
+			failure = throwable;
+			upstreamDone = true;
+			batches.clear();
+			pending.clear();
+			Arrays.fill(accumulating, 0, accumulated, null);
+			accumulated = 0;
+			subscription = upstream;
+		}
+
+		if (subscription != null) {
+			subscription.cancel();
+		}
+		drain();
+	}
+
+	private void cancelUpstream() {
+		Flow.Subscription subscription;
+		synchronized (this) {
+			cancelled = true;
+			batches.clear();
+			pending.clear();
+			subscription = upstream;
+		}
+
+		if (subscription != null) {
+			subscription.cancel();
+		}
+	}
+
+	/**
+	 * Publishes converted items to the downstream Subscriber as demand allows, reports invalid items,
+	 * signals termination and requests more from upstream.  Only one thread drains at a time; calls
+	 * made while another thread is draining cause that thread to loop again.
+	 */
+	@SuppressWarnings("unchecked")
+	private void drain() {
+		if (wip.getAndIncrement() != 0) {
+			return;
+		}
+
+		int missed = 1;
+		do {
+			while (true) {
+				Flow.Subscriber<? super R> subscriber;
+				Object item;
+				RuntimeException invalid = null;
+				boolean complete = false;
+				Throwable terminal = null;
+
+				synchronized (this) {
+					subscriber = downstream;
+					if (cancelled || terminated || subscriber == null) {
+						break;
+					}
+
+					Batch head = batches.peek();
+					if (failure != null) {
+						terminated = true;
+						complete = true;
+						terminal = failure;
+						item = null;
+					} else if (head != null && head.complete && head.published == head.items.length) {
+						batches.poll();
+						continue;
+					} else if (head != null && head.complete) {
+						int index = head.published;
+						invalid = head.errors[index];
+						if (invalid != null) {
+							item = head.items[index];
+						} else if (demand.get() > 0) {
+							item = head.results[index];
+						} else {
+							break;
+						}
+						head.published++;
+						head.items[index] = null;
+						head.results[index] = null;
+						buffered--;
+					} else if (head == null && accumulated == 0 && upstreamDone) {
+						terminated = true;
+						complete = true;
+						terminal = error;
+						item = null;
+					} else {
+						break;
+					}
+				}
+
+				if (complete) {
+					if (terminal != null) {
+						subscriber.onError(terminal);
+					} else {
+						subscriber.onComplete();
+					}
+					return;
+				} else if (invalid != null) {
+					invalidHandler.accept((T) item, invalid);
+				} else {
+					if (demand.get() != Long.MAX_VALUE) {
+						demand.decrementAndGet();
+					}
+					subscriber.onNext((R) item);
+				}
+			}
+
+			requestUpstream();
+			missed = wip.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	/**
+	 * Requests enough items from upstream to fill the available batches, then dispatches any
+	 * partial batch left waiting once the request returns.
+	 */
+	private void requestUpstream() {
+		Flow.Subscription subscription = null;
+		long n = 0;
+		synchronized (this) {
+			if (upstream != null && downstream != null && !upstreamDone && !cancelled) {
+				long capacity = (long) batchSize * (parallelism + 1);
+				n = capacity - buffered - outstanding;
+				if (n >= batchSize) {
+					outstanding += n;
+					requesting = true;
+					subscription = upstream;
+				}
+			}
+		}
+
+		if (subscription != null) {
+			try {
+				subscription.request(n);
+			} finally {
+				synchronized (this) {
+					requesting = false;
+				}
+			}
+		}
+
+		Batch batch;
+		synchronized (this) {
+			batch = nextBatch();
+		}
+		dispatch(batch);
+	}
+}
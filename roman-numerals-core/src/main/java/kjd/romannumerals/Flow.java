@@ -0,0 +1,83 @@
+package kjd.romannumerals;
+
+/**
+ * Reactive stream interfaces matching {@code java.util.concurrent.Flow}.  The library still targets
+ * Java 8, which predates {@code Flow}; these declarations are member for member identical, but
+ * being distinct types they don't interoperate directly.  On Java 9+ use {@code FlowAdapters},
+ * included when the library is built on JDK 9+, to convert in either direction.  Moving to the JDK interfaces later
+ * is only a change of import.
+ *
+ * @author kendavidson
+ *
+ * @since 0.0.1
+ */
+public final class Flow {
+
+	/**
+	 * Private constructor.
+	 */
+	private Flow() {
+	}
+
+	/**
+	 * Producer of items received by Subscribers.
+	 *
+	 * @param <T> the published item type
+	 */
+	@FunctionalInterface
+	public static interface Publisher<T> {
+
+		/**
+		 * Adds the given Subscriber.  If already subscribed, or the subscription fails, the
+		 * Subscriber's onError is called with an IllegalStateException.
+		 *
+		 * @param subscriber
+		 */
+		void subscribe(Subscriber<? super T> subscriber);
+	}
+
+	/**
+	 * Receiver of messages.  Methods are called in order: onSubscribe, then any number of onNext,
+	 * then onError or onComplete.
+	 *
+	 * @param <T> the subscribed item type
+	 */
+	public static interface Subscriber<T> {
+
+		void onSubscribe(Subscription subscription);
+
+		void onNext(T item);
+
+		void onError(Throwable throwable);
+
+		void onComplete();
+	}
+
+	/**
+	 * Link between a Publisher and a Subscriber, through which demand is signalled.
+	 */
+	public static interface Subscription {
+
+		/**
+		 * Adds n items to the current unfulfilled demand.  If n is less than or equal to zero
+		 * the Subscriber receives an onError with an IllegalArgumentException.
+		 *
+		 * @param n
+		 */
+		void request(long n);
+
+		/**
+		 * Causes the Subscriber to (eventually) stop receiving messages.
+		 */
+		void cancel();
+	}
+
+	/**
+	 * Component acting as both Subscriber and Publisher.
+	 *
+	 * @param <T> the subscribed item type
+	 * @param <R> the published item type
+	 */
+	public static interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+	}
+}
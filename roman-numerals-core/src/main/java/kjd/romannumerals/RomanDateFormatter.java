@@ -0,0 +1,226 @@
+package kjd.romannumerals;
+
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formats dates with their year, month and day written as Roman numerals, ie. "MMXXVI" for a
+ * copyright line or "XVII.X.MMXXVI" for a full date.  Patterns are compiled once by
+ * {@link #ofPattern(String)} and use the following letters:
+ * <ul>
+ * 	<li>y - year (1 to 3999)</li>
+ * 	<li>M - month of year</li>
+ * 	<li>d - day of month</li>
+ * </ul>
+ * A run of the same letter is a single field, since numerals are never padded.  Text within single
+ * quotes is output as is (two single quotes output one) and any other character other than a letter
+ * is output as is; remaining letters are reserved.
+ * <p>
+ * Month and day numerals are precomputed and each year's numeral is cached the first time it is
+ * formatted, shared by all formatters, so formatting appends cached Strings only.  Formatting
+ * appends to a caller supplied {@link StringBuilder}.
+ * <p>
+ * RomanDateFormatters are thread safe.
+ *
+ * @author kendavidson
+ *
+ * @since 0.0.1
+ */
+public class RomanDateFormatter {
+
+	/**
+	 * Formats the year alone, ie. "MMXXVI".
+	 */
+	public static final RomanDateFormatter YEAR = ofPattern("y");
+
+	/**
+	 * Formats day, month and year separated by periods, ie. "XVII.X.MMXXVI".
+	 */
+	public static final RomanDateFormatter DAY_MONTH_YEAR = ofPattern("d.M.y");
+
+	/**
+	 * Numerals for 0 through 31, covering every month and day of month.
+	 */
+	private static final String[] SMALL_NUMERALS = new String[32];
+
+	static {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < SMALL_NUMERALS.length; i++) {
+			builder.setLength(0);
+			SMALL_NUMERALS[i] = RomanNumeral.appendTo(i, builder).toString();
+		}
+	}
+
+	/**
+	 * Numerals for years 1 through 3999, filled as each is first formatted.  Strings are immutable,
+	 * so a thread seeing null or another thread's (equal) String is harmless.
+	 */
+	private static final String[] YEAR_NUMERALS = new String[4000];
+
+	/**
+	 * Pattern the formatter was created from.
+	 */
+	private final String pattern;
+
+	/**
+	 * Formatter plan: the field output at each step, or null where the step is a literal.
+	 */
+	private final ChronoField[] fields;
+
+	/**
+	 * Formatter plan: the literal text output at each step, or null where the step is a field.
+	 */
+	private final String[] literals;
+
+	/**
+	 * Private constructor; use {@link #ofPattern(String)}.
+	 *
+	 * @param pattern
+	 * @param fields
+	 * @param literals
+	 */
+	private RomanDateFormatter(String pattern, ChronoField[] fields, String[] literals) {
+		this.pattern = pattern;
+		this.fields = fields;
+		this.literals = literals;
+	}
+
+	/**
+	 * Compiles a pattern into a RomanDateFormatter.
+	 *
+	 * @param pattern
+	 * @return
+	 * @throws IllegalArgumentException if the pattern uses a reserved letter or has an unclosed quote
+	 */
+	public static RomanDateFormatter ofPattern(String pattern) {
+		List<ChronoField> fields = new ArrayList<ChronoField>();
+		List<String> literals = new ArrayList<String>();
+		StringBuilder literal = new StringBuilder();
+
+		int i = 0;
+		while (i < pattern.length()) {
+			char c = pattern.charAt(i);
+			ChronoField field = fieldOf(c);
+
+			if (field != null) {
+				addLiteral(literal, fields, literals);
+				fields.add(field);
+				literals.add(null);
+				while (i < pattern.length() && pattern.charAt(i) == c) {
+					i++;
+				}
+			} else if (c == '\'') {
+				int end = i + 1;
+				while (true) {
+					if (end >= pattern.length()) {
+						throw new IllegalArgumentException(String.format("%s has an unclosed quote", pattern));
+					}
+					if (pattern.charAt(end) == '\'') {
+						if (end + 1 < pattern.length() && pattern.charAt(end + 1) == '\'') {
+							literal.append('\'');
+							end += 2;
+							continue;
+						}
+						break;
+					}
+					literal.append(pattern.charAt(end++));
+				}
+				if (end == i + 1) {
+					literal.append('\'');
+				}
+				i = end + 1;
+			} else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+				throw new IllegalArgumentException(String.format("%s uses reserved pattern letter %s", pattern, c));
+			} else {
+				literal.append(c);
+				i++;
+			}
+		}
+		addLiteral(literal, fields, literals);
+
+		return new RomanDateFormatter(pattern,
+				fields.toArray(new ChronoField[fields.size()]),
+				literals.toArray(new String[literals.size()]));
+	}
+
+	private static ChronoField fieldOf(char c) {
+		switch (c) {
+		case 'y': return ChronoField.YEAR;
+		case 'M': return ChronoField.MONTH_OF_YEAR;
+		case 'd': return ChronoField.DAY_OF_MONTH;
+		default: return null;
+		}
+	}
+
+	private static void addLiteral(StringBuilder literal, List<ChronoField> fields, List<String> literals) {
+		if (literal.length() > 0) {
+			fields.add(null);
+			literals.add(literal.toString());
+			literal.setLength(0);
+		}
+	}
+
+	/**
+	 * Returns the numeral for year, from the cache where possible.
+	 *
+	 * @param year
+	 * @return
+	 */
+	private static String yearNumeral(int year) {
+		if (year < 1 || !RomanNumeral.validate(year)) {
+			throw new IllegalArgumentException(String.format("Year %d cannot be written as a Roman Numeral", year));
+		}
+		String numeral = YEAR_NUMERALS[year];
+		if (numeral == null) {
+			numeral = RomanNumeral.appendTo(year, new StringBuilder(16)).toString();
+			YEAR_NUMERALS[year] = numeral;
+		}
+		return numeral;
+	}
+
+	/**
+	 * Appends the formatted temporal to out.
+	 *
+	 * @param temporal
+	 * @param out
+	 * @return out
+	 * @throws IllegalArgumentException if the year is not between 1 and 3999
+	 * @throws java.time.DateTimeException if temporal does not support a field used by the pattern
+	 */
+	public StringBuilder formatTo(TemporalAccessor temporal, StringBuilder out) {
+		for (int i = 0; i < fields.length; i++) {
+			ChronoField field = fields[i];
+			if (field == null) {
+				out.append(literals[i]);
+			} else if (field == ChronoField.YEAR) {
+				out.append(yearNumeral(temporal.get(field)));
+			} else {
+				out.append(SMALL_NUMERALS[temporal.get(field)]);
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Formats the temporal into a new String.
+	 *
+	 * @param temporal
+	 * @return
+	 * @throws IllegalArgumentException if the year is not between 1 and 3999
+	 * @throws java.time.DateTimeException if temporal does not support a field used by the pattern
+	 */
+	public String format(TemporalAccessor temporal) {
+		return formatTo(temporal, new StringBuilder(32)).toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return pattern;
+	}
+}
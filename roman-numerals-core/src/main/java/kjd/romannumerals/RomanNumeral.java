@@ -1,12 +1,9 @@
 package kjd.romannumerals;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.TreeMap;
-import java.util.function.IntBinaryOperator;
+import java.util.Comparator;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * The numeric system represented by Roman numerals originated in ancient Rome and 
@@ -88,34 +85,79 @@ public class RomanNumeral {
 	}	
 	
 	/**
-	 * Regular expression used to validate whether a String is valid.
+	 * Holds the regular expression used to validate whether a String is valid.  The Pattern is
+	 * compiled the first time a String is validated, so callers only converting Integers never
+	 * pay for it.
 	 */
-	private static final Pattern NUMERAL_PATTERN 
-		= Pattern.compile("^M{0,3}(CM|CD|D?C{0,3})(XC|XL|L?X{0,3})(IX|IV|V?I{0,3})$", Pattern.CASE_INSENSITIVE);
+	private static final class PatternHolder {
+		private static final Pattern NUMERAL_PATTERN 
+			= Pattern.compile("^M{0,3}(CM|CD|D?C{0,3})(XC|XL|L?X{0,3})(IX|IV|V?I{0,3})$", Pattern.CASE_INSENSITIVE);
+	}
 	
 	/**
-	 * TreeMap of RomanNumeral Symbols by their Integer value.
+	 * Symbols for each digit of each decimal place, indexed by place (ones first) then digit.
 	 */
-	private static final TreeMap<Integer, Symbol> NUMERALS_BY_VALUE 
-		= new TreeMap<Integer, Symbol>();
-	
+	private static final String[][] DIGITS = {
+		{ "", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" },
+		{ "", "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC" },
+		{ "", "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM" },
+		{ "", "M", "MM", "MMM" }
+	};
+
 	/**
-	 * TreeMap of RomanNumeral Integer values by their symbols.
+	 * Appends the symbols for an already validated value to out, one decimal place at a time,
+	 * without building a RomanNumeral.
+	 *
+	 * @param value
+	 * @param out
+	 * @return out
 	 */
-	private static final TreeMap<Symbol, Integer> VALUES_BY_NUMERAL 
-		= new TreeMap<Symbol, Integer>();
-	
-	/*
-	 * Builds the appropriate TreeMaps used for conversion of values.
+	static StringBuilder appendTo(int value, StringBuilder out) {
+		for (int place = 3, unit = 1000; place >= 0; place--, unit /= 10) {
+			out.append(DIGITS[place][value / unit % 10]);
+		}
+		return out;
+	}
+
+	/**
+	 * Writes the symbols for an already validated value into out as ASCII bytes, starting at its
+	 * position.
+	 *
+	 * @param value
+	 * @param out
+	 * @return number of bytes written
+	 * @throws java.nio.BufferOverflowException if out does not have room for the symbols
 	 */
-	static {
-		Stream.of(Symbol.values())
-			.forEach(numeral -> {
-				NUMERALS_BY_VALUE.put(numeral.integer(), numeral);
-				VALUES_BY_NUMERAL.put(numeral, numeral.integer());
-			});		
+	static int appendTo(int value, ByteBuffer out) {
+		int written = 0;
+		for (int place = 3, unit = 1000; place >= 0; place--, unit /= 10) {
+			String digit = DIGITS[place][value / unit % 10];
+			for (int i = 0; i < digit.length(); i++) {
+				out.put((byte) digit.charAt(i));
+			}
+			written += digit.length();
+		}
+		return written;
 	}
 
+	/**
+	 * Compares Strings of RomanNumeral symbols by their Integer value.  Each side is decoded in a
+	 * single allocation free pass, without building RomanNumeral objects.
+	 * <p>
+	 * Decoded values are deliberately not cached: decoding walks at most 15 characters through a
+	 * table, about the cost of the String equality check a cache lookup would need anyway, and
+	 * leaving it out keeps the comparator stateless and thread safe.  The decode-once (decorated) sort is
+	 * {@link #sortByValue(String[])}, which should be preferred when sorting large arrays.
+	 *
+	 * @throws IllegalArgumentException if either value is not a valid Roman Numeral
+	 */
+	public static final Comparator<CharSequence> VALUE_ORDER = new Comparator<CharSequence>() {
+		@Override
+		public int compare(CharSequence a, CharSequence b) {
+			return Integer.compare(decode(a), decode(b));
+		}
+	};
+
 	/**
 	 * Array of Symbols noting the RomanNumeral value.
 	 */
@@ -127,9 +169,7 @@ public class RomanNumeral {
 	 * @param symbols
 	 */
 	public RomanNumeral(Symbol[] symbols) {
-		this(Arrays.stream(symbols)
-				.map(s -> s.toString())
-				.reduce("", (a, b) -> a + b));
+		this(join(symbols));
 	}
 	
 	/**
@@ -157,7 +197,7 @@ public class RomanNumeral {
 	 * @return
 	 */
 	public static boolean validate(String symbols) {
-		return NUMERAL_PATTERN.matcher(symbols).matches();
+		return PatternHolder.NUMERAL_PATTERN.matcher(symbols).matches();
 	}
 	
 	/**
@@ -169,6 +209,60 @@ public class RomanNumeral {
 		return (intValue >= 0 && intValue < 4000);
 	}	
 	
+	/**
+	 * Sorts an array of RomanNumeral Strings into ascending order of value.  Each String is decoded
+	 * once, then placed using a counting sort over the 0..3999 range, so the sort runs in linear time.
+	 * The sort is stable: equal values (ie. "XIV" and "xiv") retain their relative order.
+	 *
+	 * @param numerals
+	 * @throws IllegalArgumentException if any of the Strings is not a valid Roman Numeral
+	 */
+	public static void sortByValue(String[] numerals) {
+		int[] values = new int[numerals.length];
+		int[] starts = new int[4001];
+		for (int i = 0; i < numerals.length; i++) {
+			values[i] = decode(numerals[i]);
+			starts[values[i] + 1]++;
+		}
+
+		for (int i = 1; i < starts.length; i++) {
+			starts[i] += starts[i-1];
+		}
+
+		String[] sorted = new String[numerals.length];
+		for (int i = 0; i < numerals.length; i++) {
+			sorted[starts[values[i]]++] = numerals[i];
+		}
+		System.arraycopy(sorted, 0, numerals, 0, numerals.length);
+	}
+
+	/**
+	 * Parses a sequence of RomanNumeral symbols straight to its Integer value in a single allocation
+	 * free pass, without the validation pattern or a RomanNumeral object.  Like
+	 * {@link #validate(String)} symbols are case insensitive and an empty sequence is 0.
+	 *
+	 * @param symbols
+	 * @return the value, or -1 if the symbols are not a valid Roman Numeral
+	 */
+	public static int parseValue(CharSequence symbols) {
+		return RomanNumeralScanner.decode(symbols);
+	}
+
+	/**
+	 * Decodes a sequence of RomanNumeral symbols straight to its Integer value.
+	 *
+	 * @param symbols
+	 * @return
+	 * @throws IllegalArgumentException if the symbols are not a valid Roman Numeral
+	 */
+	private static int decode(CharSequence symbols) {
+		int value = parseValue(symbols);
+		if (value < 0) {
+			throw new IllegalArgumentException(String.format("%s is not a valid Roman Numeral", symbols));
+		}
+		return value;
+	}
+
 	/**
 	 * Parses a String of RomanNumeral characters into a valid Symbols Array.  If the provided
 	 * String doesn't match the required Roman Numeral format, then an Illgal Argument exception
@@ -184,103 +278,54 @@ public class RomanNumeral {
 			throw new IllegalArgumentException(String.format("%s is not a valid Roman Numeral", symbols));
 		}
 		
-		return symbols.codePoints()
-			.mapToObj(i -> Symbol.valueOf(Character.toString((char) i).toUpperCase()))
-			.toArray(s -> new Symbol[s]);		
+		return toSymbols(symbols);
 	}
 	
 	/**
-	 * Attempts to parse an Integer into a RomanNumeral.
+	 * Converts a String of already validated symbol characters into Symbols.
 	 * 
-	 * @param intValue
+	 * @param symbols
 	 * @return
 	 */
-	protected Symbol[] parseInt(int intValue) {
-		if (!validate(intValue)) {
-			throw new IllegalArgumentException(String.format("Only integers between 0 and 3999 are valid Roman Numeral values."));
+	private static Symbol[] toSymbols(String symbols) {
+		Symbol[] result = new Symbol[symbols.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = Symbol.valueOf(String.valueOf(Character.toUpperCase(symbols.charAt(i))));
 		}
-		
-		if (intValue == 0) {
-			return new Symbol[] {};
+		return result;
+	}
+	
+	/**
+	 * Joins Symbols into a String of their characters.
+	 * 
+	 * @param symbols
+	 * @return
+	 */
+	private static String join(Symbol[] symbols) {
+		StringBuilder builder = new StringBuilder(symbols.length);
+		for (Symbol symbol : symbols) {
+			builder.append(symbol.name());
 		}
-		
-		String symbols = recursiveParse(intValue, new ArrayList<String>()).stream()
-			.reduce((a,b) -> a + b)
-			.orElse("");
-		
-		return parseString(symbols);			
+		return builder.toString();
 	}
 	
 	/**
-	 * Recursively parse an Integer into a String of RomanNumeral symbols.  There
-	 * are four steps to calculating the Roman Numerals matching each iteration
-	 * of the integer value.
-	 * <ul>
-	 * 	<li>
-	 * 		Calculate the required values: key (decimal value of the lowest Symbol), times (the number 
-	 * 		of times that values Symbol is needed) and remain (the value remaining).
-	 * 	</li>
-	 * 	<li>
-	 * 		Add a String containing the required number of Symbols required for the found value.  If this String
-	 * 		happens to have 4 of the same character, we replace the the last three with the next highest Symbol.
-	 * 		For example: IIII will become IX
-	 * 	</li>
-	 * 	<li>
-	 * 		Determine if we need to add the current value to the previous value, this gets us around
-	 * 		our 9[0]* values.  These are normally taken as special values in arrays, but I wanted something
-	 * 		more dynamic in case we ever need a 5000 symbol.
-	 * 		<ul>
-	 * 			<li>900 = 500 + 400 = D + CD = CM</li>
-	 * 			<li>700 = 500 + 200 = DCC (no)</li>
-	 * 			<li>90 = 50 + 40 = L + XL = LX</li>
-	 * 		</ul>
-	 * 	</li>
-	 * </ul>
+	 * Attempts to parse an Integer into a RomanNumeral.
 	 * 
 	 * @param intValue
-	 * @param symbols
 	 * @return
 	 */
-	private static ArrayList<String> recursiveParse(int intValue, ArrayList<String> symbols) {
-		
-		final int key = NUMERALS_BY_VALUE.floorKey(intValue);
-		final int times = intValue / key;
-		final int remain = intValue % (key * times);
-		
-		symbols.add(IntStream.range(0, times)
-				.mapToObj(i -> NUMERALS_BY_VALUE.get(key).toString())
-				.reduce((a,b) -> a + b)
-				.map(s -> {
-					if (s.length() > 3) {
-						return s.substring(0, 1) + NUMERALS_BY_VALUE.ceilingEntry(key+1).getValue();
-					}
-					
-					return s;
-				})
-				.get());
-				
-		if (symbols.size() > 1) {
-			// Check for instances of 9x* values.  90, 900, etc.  In this case
-			// we need to replace D, CD with CX.
-			int size = symbols.size();
-			String prev = symbols.get(size-2);
-			String last = symbols.get(size-1);
-			
-			if (prev.length() == 1 && last.endsWith(prev)) {
-				symbols.remove(size-1);
-				symbols.remove(size-2);
-				
-				int prevKey = VALUES_BY_NUMERAL.get(Symbol.valueOf(prev));
-				String nextNum = NUMERALS_BY_VALUE.ceilingEntry(prevKey+1).getValue().toString();
-				symbols.add(last.replace(prev, nextNum));
-			}
-		}		
+	protected Symbol[] parseInt(int intValue) {
+		if (!validate(intValue)) {
+			throw new IllegalArgumentException(String.format("Only integers between 0 and 3999 are valid Roman Numeral values."));
+		}
 		
-		if (remain > 0) {
-			recursiveParse(remain, symbols);
+		if (intValue == 0) {
+			return new Symbol[] {};
 		}
-		 
-		return symbols;
+		
+		// Generated symbols are always valid, so skip the regular expression
+		return toSymbols(appendTo(intValue, new StringBuilder(15)).toString());
 	}
 	
 	/**
@@ -289,23 +334,15 @@ public class RomanNumeral {
 	 * @return
 	 */
 	public int toInteger() {
-		return new StringBuilder(toString())
-				.reverse()
-				.toString()
-				.codePoints()
-				.mapToObj(c -> String.valueOf((char) c))
-				.mapToInt(s -> Symbol.valueOf(s).integer())
-				.reduce(0, new IntBinaryOperator() {
-					private int max = 0;
-					
-					@Override
-					public int applyAsInt(int left, int right) {
-						int total = left;		// Account for Identifier
-						total = (right >= this.max) ? total + right : total - right;
-						this.max = Integer.max(this.max, right);
-						return total;
-					}
-				});
+		// Walk from the lowest Symbol up, subtracting any Symbol smaller than one already seen
+		int total = 0;
+		int max = 0;
+		for (int i = numerals.length - 1; i >= 0; i--) {
+			int value = numerals[i].integer();
+			total = (value >= max) ? total + value : total - value;
+			max = Integer.max(max, value);
+		}
+		return total;
 	}
 	
 	/*
@@ -314,10 +351,7 @@ public class RomanNumeral {
 	 */
 	@Override
 	public String toString() {
-		return Arrays.stream(numerals)
-				.map(n -> n.toString())
-				.reduce((a,b) -> a + b)
-				.orElse("");
+		return join(numerals);
 	}
 
 	/* (non-Javadoc)
@@ -0,0 +1,320 @@
+package kjd.romannumerals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Fixed capacity column of RomanNumeral values held outside the Java heap.  Each value is
+ * stored as its Integer value in 2 bytes of a direct (or memory mapped) {@link ByteBuffer}, so
+ * ten million values occupy 20MB and put no pressure on the garbage collector.
+ * <p>
+ * Iteration and the aggregate methods ({@link #min()}, {@link #max()}, {@link #sum()} and
+ * {@link #histogram(int[])}) run over the raw values without allocating.  Values are only
+ * turned into symbols when asked, either as a {@link RomanNumeral} or formatted straight into an
+ * output buffer with {@code format}.
+ * <p>
+ * Values are stored little endian, so a mapped column file can be shared between machines.
+ * RomanNumeralColumns are not thread safe.
+ *
+ * @author kendavidson
+ *
+ * @since 0.0.1
+ */
+public class RomanNumeralColumn {
+
+	/**
+	 * Number of bytes used to store each value.
+	 */
+	public static final int BYTES_PER_VALUE = 2;
+
+	/**
+	 * Number of distinct values a column can hold, 0 through 3999.
+	 */
+	public static final int VALUE_RANGE = 4000;
+
+	/**
+	 * Buffer the column is stored within.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * View over {@link #buffer} used for value access.
+	 */
+	private final ShortBuffer values;
+
+	/**
+	 * Number of values currently held.
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty column able to hold capacity values in a direct ByteBuffer.
+	 *
+	 * @param capacity
+	 * @throws IllegalArgumentException if capacity is negative or too large for a single buffer
+	 */
+	public RomanNumeralColumn(int capacity) {
+		this(ByteBuffer.allocateDirect(checkCapacity(capacity) * BYTES_PER_VALUE), 0);
+	}
+
+	/**
+	 * Creates a column over the supplied buffer, holding size values.
+	 *
+	 * @param buffer
+	 * @param size
+	 */
+	private RomanNumeralColumn(ByteBuffer buffer, int size) {
+		this.buffer = buffer;
+		this.values = buffer.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+		this.size = size;
+	}
+
+	/**
+	 * Maps a column of capacity values onto a file, creating or growing the file as required.
+	 * The mapped column is full: every one of its capacity values is present (a new file starts
+	 * with every value 0) and can be changed with {@link #set(int, int)}.  Changes are written
+	 * back to the file by the operating system, or immediately with {@link #force()}.
+	 * <p>
+	 * An existing file is checked as it is mapped, so a file which isn't a column (or has been
+	 * corrupted) is rejected rather than failing later in {@link #histogram(int[])} or
+	 * {@code format}.
+	 *
+	 * @param path
+	 * @param capacity
+	 * @return
+	 * @throws IOException if the file cannot be opened or mapped, or holds a value outside 0 to 3999
+	 */
+	public static RomanNumeralColumn map(Path path, int capacity) throws IOException {
+		long bytes = (long) checkCapacity(capacity) * BYTES_PER_VALUE;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			RomanNumeralColumn column = new RomanNumeralColumn(channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes), capacity);
+			for (int i = 0; i < capacity; i++) {
+				int value = column.values.get(i);
+				if (!RomanNumeral.validate(value)) {
+					throw new IOException(String.format("%s holds invalid value %d at index %d", path, value, i));
+				}
+			}
+			return column;
+		}
+	}
+
+	private static int checkCapacity(int capacity) {
+		if (capacity < 0 || capacity > Integer.MAX_VALUE / BYTES_PER_VALUE) {
+			throw new IllegalArgumentException(String.format("%d is not a valid column capacity", capacity));
+		}
+		return capacity;
+	}
+
+	private static void checkValue(int value) {
+		if (!RomanNumeral.validate(value)) {
+			throw new IllegalArgumentException("Only integers between 0 and 3999 are valid Roman Numeral values.");
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index %d is outside of column size %d", index, size));
+		}
+	}
+
+	/**
+	 * Returns the number of values held.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the maximum number of values the column can hold.
+	 *
+	 * @return
+	 */
+	public int capacity() {
+		return values.capacity();
+	}
+
+	/**
+	 * Appends a value to the end of the column.
+	 *
+	 * @param value
+	 * @throws IllegalArgumentException if value is not between 0 and 3999
+	 * @throws IllegalStateException if the column is full
+	 */
+	public void add(int value) {
+		checkValue(value);
+		if (size == values.capacity()) {
+			throw new IllegalStateException(String.format("Column is full at %d values", size));
+		}
+		values.put(size++, (short) value);
+	}
+
+	/**
+	 * Appends a RomanNumeral to the end of the column.
+	 *
+	 * @param numeral
+	 * @throws IllegalStateException if the column is full
+	 */
+	public void add(RomanNumeral numeral) {
+		add(numeral.toInteger());
+	}
+
+	/**
+	 * Replaces the value at index.
+	 *
+	 * @param index
+	 * @param value
+	 * @throws IllegalArgumentException if value is not between 0 and 3999
+	 * @throws IndexOutOfBoundsException if index is not less than {@link #size()}
+	 */
+	public void set(int index, int value) {
+		checkIndex(index);
+		checkValue(value);
+		values.put(index, (short) value);
+	}
+
+	/**
+	 * Returns the Integer value at index.
+	 *
+	 * @param index
+	 * @return
+	 * @throws IndexOutOfBoundsException if index is not less than {@link #size()}
+	 */
+	public int getInt(int index) {
+		checkIndex(index);
+		return values.get(index);
+	}
+
+	/**
+	 * Returns the value at index as a new RomanNumeral.
+	 *
+	 * @param index
+	 * @return
+	 * @throws IndexOutOfBoundsException if index is not less than {@link #size()}
+	 */
+	public RomanNumeral get(int index) {
+		return new RomanNumeral(getInt(index));
+	}
+
+	/**
+	 * Passes each value, in order, to the consumer.
+	 *
+	 * @param consumer
+	 */
+	public void forEach(IntConsumer consumer) {
+		for (int i = 0; i < size; i++) {
+			consumer.accept(values.get(i));
+		}
+	}
+
+	/**
+	 * Returns the smallest value held, or -1 if the column is empty.
+	 *
+	 * @return
+	 */
+	public int min() {
+		int min = size == 0 ? -1 : VALUE_RANGE;
+		for (int i = 0; i < size; i++) {
+			min = Math.min(min, values.get(i));
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the largest value held, or -1 if the column is empty.
+	 *
+	 * @return
+	 */
+	public int max() {
+		int max = -1;
+		for (int i = 0; i < size; i++) {
+			max = Math.max(max, values.get(i));
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all values held.
+	 *
+	 * @return
+	 */
+	public long sum() {
+		long sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += values.get(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the number of times each value 0 through 3999 occurs in the column.
+	 *
+	 * @return
+	 */
+	public int[] histogram() {
+		return histogram(new int[VALUE_RANGE]);
+	}
+
+	/**
+	 * Adds the number of times each value occurs in the column to counts, which must be at least
+	 * {@link #VALUE_RANGE} long.  Reusing counts allows histograms to be gathered without allocating,
+	 * or accumulated over several columns.
+	 *
+	 * @param counts
+	 * @return counts
+	 * @throws IllegalArgumentException if counts is too short
+	 */
+	public int[] histogram(int[] counts) {
+		if (counts.length < VALUE_RANGE) {
+			throw new IllegalArgumentException(String.format("Histogram requires %d counts", VALUE_RANGE));
+		}
+		for (int i = 0; i < size; i++) {
+			counts[values.get(i)]++;
+		}
+		return counts;
+	}
+
+	/**
+	 * Writes the symbols of the value at index into out as ASCII bytes, starting at its position.
+	 *
+	 * @param index
+	 * @param out
+	 * @return number of bytes written
+	 * @throws IndexOutOfBoundsException if index is not less than {@link #size()}
+	 * @throws java.nio.BufferOverflowException if out does not have room for the symbols
+	 */
+	public int format(int index, ByteBuffer out) {
+		return RomanNumeral.appendTo(getInt(index), out);
+	}
+
+	/**
+	 * Appends the symbols of the value at index to out.
+	 *
+	 * @param index
+	 * @param out
+	 * @return out
+	 * @throws IndexOutOfBoundsException if index is not less than {@link #size()}
+	 */
+	public StringBuilder format(int index, StringBuilder out) {
+		return RomanNumeral.appendTo(getInt(index), out);
+	}
+
+	/**
+	 * Writes any changes to a mapped column back to its file.  Has no effect on a column
+	 * which isn't mapped.
+	 */
+	public void force() {
+		if (buffer instanceof MappedByteBuffer) {
+			((MappedByteBuffer) buffer).force();
+		}
+	}
+}
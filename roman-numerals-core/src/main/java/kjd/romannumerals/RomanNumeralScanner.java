@@ -0,0 +1,430 @@
+package kjd.romannumerals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Finds Roman numerals embedded within free text ("Chapter XIV", "Louis XVI", "Super Bowl LVIII")
+ * in a single pass.  Rather than tokenizing and running {@link RomanNumeral#validate(String)} on
+ * each word, the scanner drives a table based DFA one character at a time, accumulating the value
+ * of the current word as it goes.  A word is a maximal run of letters or digits; it is reported
+ * only when every character of the word is consumed by the DFA, so "MIX" matches but "MIXED"
+ * does not.
+ * <p>
+ * By default only uppercase symbols are matched, so ordinary words such as "mix" or "civil" in
+ * prose aren't reported.  Matching can be made case insensitive, in line with
+ * {@link RomanNumeral#validate(String)}, with {@link #RomanNumeralScanner(MatchHandler, boolean)}.
+ * Note that the pronoun "I" is a valid numeral and is always reported.
+ * <p>
+ * Scanning never allocates per word.  State is carried between calls to {@link #feed(CharSequence)}
+ * so input of any size can be pushed through in chunks, with offsets reported as {@code long}.
+ * The static {@code scan} methods cover the common cases of a complete {@link CharSequence},
+ * a {@link CharBuffer} or a {@link Reader}.
+ * <p>
+ * RomanNumeralScanners are not thread safe.
+ *
+ * @author kendavidson
+ *
+ * @since 0.0.1
+ */
+public class RomanNumeralScanner {
+
+	/**
+	 * Receives each Roman numeral found by a {@link RomanNumeralScanner}.
+	 *
+	 * @author kendavidson
+	 *
+	 * @since 0.0.1
+	 */
+	@FunctionalInterface
+	public static interface MatchHandler {
+
+		/**
+		 * Called for each Roman numeral found.
+		 *
+		 * @param start offset of the first character of the numeral
+		 * @param end offset one past the last character of the numeral
+		 * @param value Integer value of the numeral
+		 */
+		void match(long start, long end, int value);
+	}
+
+	/**
+	 * Size of the buffer used when reading from a {@link Reader}.
+	 */
+	private static final int READ_BUFFER_SIZE = 8192;
+
+	/**
+	 * Symbols in ascending order; a Symbol's index gives its decimal place (index / 2) and whether
+	 * it is the five of that place (index % 2 == 1).
+	 */
+	private static final String SYMBOLS = "IVXLCDM";
+
+	/**
+	 * Number of states within each decimal place: 1, 2, 3, 5, 6, 7, 8, 4 and 9.
+	 */
+	private static final int PLACE_STATES = 9;
+
+	private static final int ONE = 0, TWO = 1, THREE = 2, FIVE = 3, SIX = 4, SEVEN = 5, EIGHT = 6, FOUR = 7, NINE = 8;
+
+	/**
+	 * State before any character of a word has been consumed.
+	 */
+	private static final int START = 0;
+
+	/**
+	 * State after a word has been rejected; remaining characters of the word are skipped.
+	 */
+	private static final int DEAD = -1;
+
+	/**
+	 * Transition table indexed by {@code state * 7 + symbol}.  Each entry packs the next state in the
+	 * low 8 bits and the value added by the transition in the remaining bits, or is {@link #DEAD}.
+	 */
+	private static final int[] TRANSITIONS = new int[(1 + 4 * PLACE_STATES) * SYMBOLS.length()];
+
+	/**
+	 * Maps ASCII characters to their Symbol index, or -1 if the character is not a Symbol.
+	 * Both upper and lowercase characters are mapped.
+	 */
+	private static final byte[] SYMBOL_INDEX = new byte[128];
+
+	/**
+	 * As {@link #SYMBOL_INDEX}, mapping uppercase characters only.
+	 */
+	private static final byte[] UPPERCASE_SYMBOL_INDEX = new byte[128];
+
+	/*
+	 * Builds the DFA equivalent to the RomanNumeral validation pattern.
+	 */
+	static {
+		for (int i = 0; i < SYMBOL_INDEX.length; i++) {
+			SYMBOL_INDEX[i] = -1;
+			UPPERCASE_SYMBOL_INDEX[i] = -1;
+		}
+		for (int i = 0; i < SYMBOLS.length(); i++) {
+			SYMBOL_INDEX[SYMBOLS.charAt(i)] = (byte) i;
+			UPPERCASE_SYMBOL_INDEX[SYMBOLS.charAt(i)] = (byte) i;
+			SYMBOL_INDEX[Character.toLowerCase(SYMBOLS.charAt(i))] = (byte) i;
+		}
+
+		for (int state = 0; state < TRANSITIONS.length / SYMBOLS.length(); state++) {
+			int place = (state == START) ? 4 : (state - 1) / PLACE_STATES;
+			int sub = (state == START) ? -1 : (state - 1) % PLACE_STATES;
+
+			for (int symbol = 0; symbol < SYMBOLS.length(); symbol++) {
+				int symbolPlace = symbol / 2;
+				boolean five = symbol % 2 == 1;
+				int unit = pow10(place);
+				int next = DEAD;
+
+				if (symbolPlace < place) {
+					// Leaving the current place for a lower one, ie. the C in MC
+					next = transition(symbolPlace, five ? FIVE : ONE, (five ? 5 : 1) * pow10(symbolPlace));
+				} else if (symbolPlace == place && !five) {
+					// Repeating the one of the current place, ie. the second I in VII
+					switch (sub) {
+					case ONE:   next = transition(place, TWO, unit); break;
+					case TWO:   next = transition(place, THREE, unit); break;
+					case FIVE:  next = transition(place, SIX, unit); break;
+					case SIX:   next = transition(place, SEVEN, unit); break;
+					case SEVEN: next = transition(place, EIGHT, unit); break;
+					default: break;
+					}
+				} else if (symbolPlace == place && sub == ONE) {
+					// Subtractive four, ie. IV
+					next = transition(place, FOUR, 3 * unit);
+				} else if (symbolPlace == place + 1 && !five && sub == ONE) {
+					// Subtractive nine, ie. IX
+					next = transition(place, NINE, 8 * unit);
+				}
+
+				TRANSITIONS[state * SYMBOLS.length() + symbol] = next;
+			}
+		}
+	}
+
+	private static int pow10(int place) {
+		int value = 1;
+		for (int i = 0; i < place; i++) {
+			value *= 10;
+		}
+		return value;
+	}
+
+	private static int transition(int place, int sub, int value) {
+		return (value << 8) | (1 + place * PLACE_STATES + sub);
+	}
+
+	/**
+	 * Handler receiving matches.
+	 */
+	private final MatchHandler handler;
+
+	/**
+	 * Symbol lookup, depending on whether case is ignored.
+	 */
+	private final byte[] symbolIndex;
+
+	/**
+	 * Offset of the next character to be fed.
+	 */
+	private long position;
+
+	/**
+	 * Offset of the first character of the current word, or -1 when between words.
+	 */
+	private long wordStart = -1;
+
+	/**
+	 * Current DFA state.
+	 */
+	private int state = START;
+
+	/**
+	 * Value accumulated for the current word.
+	 */
+	private int value;
+
+	/**
+	 * Creates a new RomanNumeralScanner matching uppercase numerals only, reporting matches to
+	 * the supplied handler.
+	 *
+	 * @param handler
+	 */
+	public RomanNumeralScanner(MatchHandler handler) {
+		this(handler, false);
+	}
+
+	/**
+	 * Creates a new RomanNumeralScanner reporting matches to the supplied handler.
+	 *
+	 * @param handler
+	 * @param ignoreCase whether lowercase and mixed case numerals are also matched
+	 */
+	public RomanNumeralScanner(MatchHandler handler, boolean ignoreCase) {
+		if (handler == null) {
+			throw new IllegalArgumentException("MatchHandler cannot be null");
+		}
+		this.handler = handler;
+		this.symbolIndex = ignoreCase ? SYMBOL_INDEX : UPPERCASE_SYMBOL_INDEX;
+	}
+
+	/**
+	 * Scans a complete CharSequence for uppercase numerals, reporting matches to the handler.
+	 *
+	 * @param text
+	 * @param handler
+	 */
+	public static void scan(CharSequence text, MatchHandler handler) {
+		scan(text, false, handler);
+	}
+
+	/**
+	 * Scans a complete CharSequence, reporting matches to the handler.
+	 *
+	 * @param text
+	 * @param ignoreCase whether lowercase and mixed case numerals are also matched
+	 * @param handler
+	 */
+	public static void scan(CharSequence text, boolean ignoreCase, MatchHandler handler) {
+		new RomanNumeralScanner(handler, ignoreCase).feed(text).finish();
+	}
+
+	/**
+	 * Scans the remaining characters of a CharBuffer for uppercase numerals, reporting matches
+	 * to the handler.  Offsets are relative to the buffer's position when called.  The buffer's
+	 * position is left unchanged.
+	 *
+	 * @param buffer
+	 * @param handler
+	 */
+	public static void scan(CharBuffer buffer, MatchHandler handler) {
+		scan(buffer, false, handler);
+	}
+
+	/**
+	 * Scans the remaining characters of a CharBuffer, reporting matches to the handler.  Offsets
+	 * are relative to the buffer's position when called.  The buffer's position is left unchanged.
+	 *
+	 * @param buffer
+	 * @param ignoreCase whether lowercase and mixed case numerals are also matched
+	 * @param handler
+	 */
+	public static void scan(CharBuffer buffer, boolean ignoreCase, MatchHandler handler) {
+		new RomanNumeralScanner(handler, ignoreCase).feed(buffer).finish();
+	}
+
+	/**
+	 * Scans everything remaining in a Reader for uppercase numerals, reporting matches to the
+	 * handler.  The Reader is not closed.
+	 *
+	 * @param reader
+	 * @param handler
+	 * @throws IOException if the Reader throws
+	 */
+	public static void scan(Reader reader, MatchHandler handler) throws IOException {
+		scan(reader, false, handler);
+	}
+
+	/**
+	 * Scans everything remaining in a Reader, reporting matches to the handler.  The Reader is
+	 * not closed.
+	 *
+	 * @param reader
+	 * @param ignoreCase whether lowercase and mixed case numerals are also matched
+	 * @param handler
+	 * @throws IOException if the Reader throws
+	 */
+	public static void scan(Reader reader, boolean ignoreCase, MatchHandler handler) throws IOException {
+		RomanNumeralScanner scanner = new RomanNumeralScanner(handler, ignoreCase);
+		char[] buffer = new char[READ_BUFFER_SIZE];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			scanner.feed(buffer, 0, read);
+		}
+		scanner.finish();
+	}
+
+	/**
+	 * Runs the DFA over an entire CharSequence, returning its value or -1 if it is not a valid
+	 * Roman numeral.  An empty sequence is valid and has a value of 0, in line with
+	 * {@link RomanNumeral#validate(String)}.
+	 *
+	 * @param symbols
+	 * @return
+	 */
+	static int decode(CharSequence symbols) {
+		int state = START;
+		int value = 0;
+		for (int i = 0, n = symbols.length(); i < n; i++) {
+			char c = symbols.charAt(i);
+			int symbol = c < 128 ? SYMBOL_INDEX[c] : -1;
+			int entry = symbol < 0 ? DEAD : TRANSITIONS[state * SYMBOLS.length() + symbol];
+			if (entry == DEAD) {
+				return -1;
+			}
+			state = entry & 0xFF;
+			value += entry >>> 8;
+		}
+		return value;
+	}
+
+	/**
+	 * Feeds the next chunk of text to the scanner.  A numeral at the end of the chunk is not
+	 * reported until the following chunk (or {@link #finish()}) shows where the word ends.
+	 *
+	 * @param text
+	 * @return this scanner
+	 */
+	public RomanNumeralScanner feed(CharSequence text) {
+		if (text instanceof CharBuffer) {
+			return feed((CharBuffer) text);
+		}
+		for (int i = 0, n = text.length(); i < n; i++) {
+			next(text.charAt(i));
+		}
+		return this;
+	}
+
+	/**
+	 * Feeds the remaining characters of a CharBuffer to the scanner, leaving its position unchanged.
+	 *
+	 * @param buffer
+	 * @return this scanner
+	 */
+	public RomanNumeralScanner feed(CharBuffer buffer) {
+		if (buffer.hasArray()) {
+			return feed(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		for (int i = buffer.position(), n = buffer.limit(); i < n; i++) {
+			next(buffer.get(i));
+		}
+		return this;
+	}
+
+	/**
+	 * Feeds a range of a char array to the scanner.
+	 *
+	 * @param chars
+	 * @param offset
+	 * @param length
+	 * @return this scanner
+	 */
+	public RomanNumeralScanner feed(char[] chars, int offset, int length) {
+		for (int i = offset, n = offset + length; i < n; i++) {
+			next(chars[i]);
+		}
+		return this;
+	}
+
+	/**
+	 * Marks the end of input, reporting a numeral that ends the text.  The scanner can continue
+	 * to be fed afterwards, as though a word boundary had been seen.
+	 */
+	public void finish() {
+		endWord();
+	}
+
+	/**
+	 * Returns the number of characters fed so far.
+	 *
+	 * @return
+	 */
+	public long position() {
+		return position;
+	}
+
+	/**
+	 * Advances the DFA by a single character.
+	 *
+	 * @param c
+	 */
+	private void next(char c) {
+		if (isWordChar(c)) {
+			if (wordStart < 0) {
+				wordStart = position;
+			}
+			if (state != DEAD) {
+				int symbol = c < 128 ? symbolIndex[c] : -1;
+				int entry = symbol < 0 ? DEAD : TRANSITIONS[state * SYMBOLS.length() + symbol];
+				if (entry == DEAD) {
+					state = DEAD;
+				} else {
+					state = entry & 0xFF;
+					value += entry >>> 8;
+				}
+			}
+		} else if (wordStart >= 0) {
+			endWord();
+		}
+		position++;
+	}
+
+	/**
+	 * Completes the current word, reporting it if the DFA accepted every character.
+	 */
+	private void endWord() {
+		if (wordStart >= 0 && state != DEAD && state != START) {
+			handler.match(wordStart, position, value);
+		}
+		wordStart = -1;
+		state = START;
+		value = 0;
+	}
+
+	/**
+	 * Determines whether a character is part of a word.  Surrogates are treated as word characters
+	 * so that numerals adjacent to supplementary letters are not reported.
+	 *
+	 * @param c
+	 * @return
+	 */
+	private static boolean isWordChar(char c) {
+		if (c < 128) {
+			return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+		}
+		return Character.isLetterOrDigit(c) || Character.isSurrogate(c);
+	}
+}
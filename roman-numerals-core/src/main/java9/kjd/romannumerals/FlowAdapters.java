@@ -0,0 +1,178 @@
+package kjd.romannumerals;
+
+/**
+ * Bridges between the library's {@link Flow} interfaces and {@link java.util.concurrent.Flow},
+ * so a {@link ConversionProcessor} can be used with JDK 9+ reactive streams.  Each method wraps
+ * the instance given; signals are passed straight through.
+ * <p>
+ * Compiled for Java 9, so only included when the library is built on JDK 9+ and only usable on
+ * Java 9 and later.
+ *
+ * @author kendavidson
+ *
+ * @since 0.0.1
+ */
+public final class FlowAdapters {
+
+	/**
+	 * Private constructor.
+	 */
+	private FlowAdapters() {
+	}
+
+	/**
+	 * Adapts a Publisher to a {@link java.util.concurrent.Flow.Publisher}.
+	 *
+	 * @param publisher
+	 * @return
+	 */
+	public static <T> java.util.concurrent.Flow.Publisher<T> toFlowPublisher(Flow.Publisher<? extends T> publisher) {
+		requireNonNull(publisher);
+		return subscriber -> publisher.subscribe(toSubscriber(subscriber));
+	}
+
+	/**
+	 * Adapts a {@link java.util.concurrent.Flow.Publisher} to a Publisher.
+	 *
+	 * @param publisher
+	 * @return
+	 */
+	public static <T> Flow.Publisher<T> toPublisher(java.util.concurrent.Flow.Publisher<? extends T> publisher) {
+		requireNonNull(publisher);
+		return subscriber -> publisher.subscribe(toFlowSubscriber(subscriber));
+	}
+
+	/**
+	 * Adapts a Subscriber to a {@link java.util.concurrent.Flow.Subscriber}.
+	 *
+	 * @param subscriber
+	 * @return
+	 */
+	public static <T> java.util.concurrent.Flow.Subscriber<T> toFlowSubscriber(Flow.Subscriber<? super T> subscriber) {
+		requireNonNull(subscriber);
+		return new java.util.concurrent.Flow.Subscriber<T>() {
+			@Override
+			public void onSubscribe(java.util.concurrent.Flow.Subscription subscription) {
+				subscriber.onSubscribe(toSubscription(subscription));
+			}
+
+			@Override
+			public void onNext(T item) {
+				subscriber.onNext(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				subscriber.onError(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				subscriber.onComplete();
+			}
+		};
+	}
+
+	/**
+	 * Adapts a {@link java.util.concurrent.Flow.Subscriber} to a Subscriber.
+	 *
+	 * @param subscriber
+	 * @return
+	 */
+	public static <T> Flow.Subscriber<T> toSubscriber(java.util.concurrent.Flow.Subscriber<? super T> subscriber) {
+		requireNonNull(subscriber);
+		return new Flow.Subscriber<T>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscriber.onSubscribe(toFlowSubscription(subscription));
+			}
+
+			@Override
+			public void onNext(T item) {
+				subscriber.onNext(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				subscriber.onError(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				subscriber.onComplete();
+			}
+		};
+	}
+
+	/**
+	 * Adapts a Processor, such as a {@link ConversionProcessor}, to a
+	 * {@link java.util.concurrent.Flow.Processor}.
+	 *
+	 * @param processor
+	 * @return
+	 */
+	public static <T, R> java.util.concurrent.Flow.Processor<T, R> toFlowProcessor(Flow.Processor<? super T, ? extends R> processor) {
+		requireNonNull(processor);
+		java.util.concurrent.Flow.Subscriber<T> upstream = toFlowSubscriber(processor);
+		return new java.util.concurrent.Flow.Processor<T, R>() {
+			@Override
+			public void subscribe(java.util.concurrent.Flow.Subscriber<? super R> subscriber) {
+				processor.subscribe(toSubscriber(subscriber));
+			}
+
+			@Override
+			public void onSubscribe(java.util.concurrent.Flow.Subscription subscription) {
+				upstream.onSubscribe(subscription);
+			}
+
+			@Override
+			public void onNext(T item) {
+				upstream.onNext(item);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				upstream.onError(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				upstream.onComplete();
+			}
+		};
+	}
+
+	private static Flow.Subscription toSubscription(java.util.concurrent.Flow.Subscription subscription) {
+		return new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+				subscription.request(n);
+			}
+
+			@Override
+			public void cancel() {
+				subscription.cancel();
+			}
+		};
+	}
+
+	private static java.util.concurrent.Flow.Subscription toFlowSubscription(Flow.Subscription subscription) {
+		return new java.util.concurrent.Flow.Subscription() {
+			@Override
+			public void request(long n) {
+				subscription.request(n);
+			}
+
+			@Override
+			public void cancel() {
+				subscription.cancel();
+			}
+		};
+	}
+
+	private static void requireNonNull(Object value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Cannot adapt null");
+		}
+	}
+}
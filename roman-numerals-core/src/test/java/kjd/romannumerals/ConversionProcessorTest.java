@@ -0,0 +1,321 @@
+package kjd.romannumerals;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ConversionProcessorTest {
+
+	/**
+	 * Publishes a fixed list of items to a single Subscriber, honouring demand.
+	 */
+	private static class ListPublisher<T> implements Flow.Subscription {
+		private final List<T> items;
+		private final Flow.Subscriber<? super T> subscriber;
+		private int next;
+		private long requested;
+		private long totalRequested;
+		private boolean emitting;
+		private boolean cancelled;
+
+		private ListPublisher(List<T> items, Flow.Subscriber<? super T> subscriber) {
+			this.items = items;
+			this.subscriber = subscriber;
+			subscriber.onSubscribe(this);
+		}
+
+		@Override
+		public synchronized void request(long n) {
+			requested += n;
+			totalRequested += n;
+			if (emitting) {
+				return;
+			}
+			emitting = true;
+			while (requested > 0 && next < items.size() && !cancelled) {
+				requested--;
+				subscriber.onNext(items.get(next++));
+			}
+			emitting = false;
+			if (next == items.size() && !cancelled) {
+				next++;
+				subscriber.onComplete();
+			}
+		}
+
+		@Override
+		public synchronized void cancel() {
+			cancelled = true;
+		}
+	}
+
+	/**
+	 * Records received items, requesting a fixed number at a time.
+	 */
+	private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+		private final List<T> items = new ArrayList<T>();
+		private final CountDownLatch done = new CountDownLatch(1);
+		private final long batch;
+		private Flow.Subscription subscription;
+		private Throwable error;
+
+		private RecordingSubscriber(long batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (batch > 0) {
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+			if (batch > 0 && items.size() % batch == 0) {
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+	}
+
+	private static List<Integer> range(int from, int to) {
+		List<Integer> values = new ArrayList<Integer>();
+		for (int i = from; i < to; i++) {
+			values.add(i);
+		}
+		return values;
+	}
+
+	@Test
+	public void integers_convertToNumeralsInOrder() throws InterruptedException {
+		List<Integer> invalid = new ArrayList<Integer>();
+		ConversionProcessor<Integer, RomanNumeral> processor = ConversionProcessor.toNumerals((i, e) -> invalid.add(i));
+		RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>(7);
+
+		processor.subscribe(subscriber);
+		new ListPublisher<Integer>(range(-3, 4003), processor);
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertNull(subscriber.error);
+		assertEquals(4000, subscriber.items.size());
+		for (int i = 0; i < 4000; i++) {
+			assertEquals(new RomanNumeral(i), subscriber.items.get(i));
+		}
+		assertEquals(range(-3, 0), invalid.subList(0, 3));
+		assertEquals(range(4000, 4003), invalid.subList(3, 6));
+	}
+
+	@Test
+	public void numerals_convertToIntegers_withInvalidItemsReported() throws InterruptedException {
+		List<String> invalid = new ArrayList<String>();
+		ConversionProcessor<String, Integer> processor = ConversionProcessor.toIntegers((s, e) -> invalid.add(s));
+		RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(1);
+
+		processor.subscribe(subscriber);
+		List<String> numerals = new ArrayList<String>();
+		numerals.add("XIV");
+		numerals.add("IIII");
+		numerals.add("MMXXVI");
+		new ListPublisher<String>(numerals, processor);
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertEquals(2, subscriber.items.size());
+		assertEquals(Integer.valueOf(14), subscriber.items.get(0));
+		assertEquals(Integer.valueOf(2026), subscriber.items.get(1));
+		assertEquals(1, invalid.size());
+		assertEquals("IIII", invalid.get(0));
+	}
+
+	@Test
+	public void executor_preservesOrder() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ConversionProcessor<Integer, RomanNumeral> processor = ConversionProcessor.toNumerals((i, e) -> { },
+					executor, 32, 4);
+			RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>(100);
+
+			processor.subscribe(subscriber);
+			new ListPublisher<Integer>(range(0, 4000), processor);
+
+			assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+			assertEquals(4000, subscriber.items.size());
+			for (int i = 0; i < 4000; i++) {
+				assertEquals(i, subscriber.items.get(i).toInteger());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void upstreamRequests_areBounded() {
+		ConversionProcessor<Integer, RomanNumeral> processor = ConversionProcessor.toNumerals((i, e) -> { },
+				Runnable::run, 10, 2);
+		RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>(0);
+
+		processor.subscribe(subscriber);
+		ListPublisher<Integer> publisher = new ListPublisher<Integer>(range(0, 1000), processor);
+
+		assertTrue(subscriber.items.isEmpty());
+		assertEquals(30, publisher.totalRequested);
+
+		subscriber.subscription.request(5);
+		assertEquals(5, subscriber.items.size());
+		assertEquals(30, publisher.totalRequested);
+
+		subscriber.subscription.request(5);
+		assertEquals(10, subscriber.items.size());
+		assertEquals(40, publisher.totalRequested);
+	}
+
+	@Test
+	public void callingThread_convertsInFullBatches() throws InterruptedException {
+		List<Runnable> executed = new ArrayList<Runnable>();
+		ConversionProcessor<Integer, RomanNumeral> processor = ConversionProcessor.toNumerals((i, e) -> { },
+				r -> { executed.add(r); r.run(); }, ConversionProcessor.DEFAULT_BATCH_SIZE, 1);
+		RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>(1000);
+
+		processor.subscribe(subscriber);
+		new ListPublisher<Integer>(range(0, 1000), processor);
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertEquals(1000, subscriber.items.size());
+		assertEquals(4, executed.size());
+	}
+
+	@Test
+	public void parallelism_limitsBatchesConverting() {
+		List<Runnable> queued = new ArrayList<Runnable>();
+		ConversionProcessor<Integer, RomanNumeral> processor = ConversionProcessor.toNumerals((i, e) -> { },
+				queued::add, 10, 2);
+		RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>(100);
+
+		processor.subscribe(subscriber);
+		new ListPublisher<Integer>(range(0, 1000), processor);
+
+		assertEquals(2, queued.size());
+
+		queued.remove(0).run();
+		assertEquals(10, subscriber.items.size());
+		assertEquals(2, queued.size());
+	}
+
+	@Test
+	public void converterError_signalsError() throws InterruptedException {
+		ConversionProcessor<Integer, Integer> processor = new ConversionProcessor<Integer, Integer>(i -> {
+			throw new AssertionError("Conversion failed");
+		}, (i, e) -> { });
+		RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(10);
+
+		processor.subscribe(subscriber);
+		new ListPublisher<Integer>(range(0, 10), processor);
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertTrue(subscriber.error instanceof AssertionError);
+	}
+
+	@Test
+	public void partialDelivery_isPublishedWithoutCompletion() throws InterruptedException {
+		ConversionProcessor<Integer, RomanNumeral> processor = ConversionProcessor.toNumerals((i, e) -> { });
+		RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>(Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+
+		// Delivers 5 items from another thread then goes quiet, as a message queue would
+		CountDownLatch requested = new CountDownLatch(1);
+		processor.onSubscribe(new Flow.Subscription() {
+			@Override public void request(long n) { requested.countDown(); }
+			@Override public void cancel() { }
+		});
+		assertTrue(requested.await(5, TimeUnit.SECONDS));
+
+		Thread source = new Thread(() -> {
+			for (int i = 1; i <= 5; i++) {
+				processor.onNext(i);
+			}
+		});
+		source.start();
+		source.join();
+
+		assertEquals(5, subscriber.items.size());
+		assertEquals(new RomanNumeral(5), subscriber.items.get(4));
+		assertEquals(1, subscriber.done.getCount());
+	}
+
+	@Test
+	public void converterError_isSignalledSerially() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			AtomicBoolean inOnNext = new AtomicBoolean();
+			AtomicBoolean overlapped = new AtomicBoolean();
+			ConversionProcessor<Integer, Integer> processor = new ConversionProcessor<Integer, Integer>(i -> {
+				if (i == 15) {
+					throw new AssertionError("Conversion failed");
+				}
+				return i;
+			}, (i, e) -> { }, executor, 10, 4);
+			RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(1) {
+				@Override
+				public void onNext(Integer item) {
+					inOnNext.set(true);
+					try {
+						Thread.sleep(5);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					inOnNext.set(false);
+					super.onNext(item);
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+					overlapped.compareAndSet(false, inOnNext.get());
+					super.onError(throwable);
+				}
+			};
+
+			processor.subscribe(subscriber);
+			new ListPublisher<Integer>(range(0, 100), processor);
+
+			assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+			assertTrue(subscriber.error instanceof AssertionError);
+			assertFalse(overlapped.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void nonPositiveRequest_signalsError() {
+		ConversionProcessor<Integer, RomanNumeral> processor = ConversionProcessor.toNumerals((i, e) -> { });
+		RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>(0);
+
+		processor.subscribe(subscriber);
+		subscriber.subscription.request(0);
+
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+	}
+}
@@ -0,0 +1,61 @@
+package kjd.romannumerals;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RomanDateFormatterTest {
+
+	@Rule
+	public ExpectedException illegalArgument = ExpectedException.none();
+
+	@Test
+	public void predefinedFormatters_formatCorrectly() {
+		assertEquals("MMXXVI", RomanDateFormatter.YEAR.format(Year.of(2026)));
+		assertEquals("XVII.X.MMXXVI", RomanDateFormatter.DAY_MONTH_YEAR.format(LocalDate.of(2026, 10, 17)));
+	}
+
+	@Test
+	public void pattern_supportsQuotedLiterals() {
+		RomanDateFormatter formatter = RomanDateFormatter.ofPattern("'Copyright' yyyy 'o''clock' MM/dd ''");
+		assertEquals("Copyright MCMXCIX o'clock XII/XXXI '", formatter.format(LocalDate.of(1999, 12, 31)));
+	}
+
+	@Test
+	public void formatTo_appendsToBuilder() {
+		StringBuilder out = new StringBuilder("Anno ");
+		RomanDateFormatter.ofPattern("M y").formatTo(YearMonth.of(2026, 4), out);
+		assertEquals("Anno IV MMXXVI", out.toString());
+	}
+
+	@Test
+	public void everyYear_isFormattedAndCached() {
+		RomanDateFormatter formatter = RomanDateFormatter.ofPattern("y");
+		for (int year = 1; year < 4000; year++) {
+			String numeral = new RomanNumeral(year).toString();
+			assertEquals(numeral, formatter.format(Year.of(year)));
+			assertEquals(numeral, formatter.format(Year.of(year)));
+		}
+	}
+
+	@Test
+	public void yearOutOfRange_throwsException() {
+		illegalArgument.expect(IllegalArgumentException.class);
+		RomanDateFormatter.YEAR.format(Year.of(4000));
+	}
+
+	@Test
+	public void reservedLetter_throwsException() {
+		illegalArgument.expect(IllegalArgumentException.class);
+		RomanDateFormatter.ofPattern("d MMM yyyy HH");
+	}
+}
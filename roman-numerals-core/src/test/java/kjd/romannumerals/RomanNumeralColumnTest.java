@@ -0,0 +1,121 @@
+package kjd.romannumerals;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RomanNumeralColumnTest {
+
+	@Rule
+	public ExpectedException illegalArgument = ExpectedException.none();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static RomanNumeralColumn column(int... values) {
+		RomanNumeralColumn column = new RomanNumeralColumn(values.length);
+		for (int value : values) {
+			column.add(value);
+		}
+		return column;
+	}
+
+	@Test
+	public void aggregates_overValues() {
+		RomanNumeralColumn column = column(14, 3999, 0, 14, 592);
+
+		assertEquals(5, column.size());
+		assertEquals(0, column.min());
+		assertEquals(3999, column.max());
+		assertEquals(14 + 3999 + 14 + 592, column.sum());
+
+		int[] histogram = column.histogram();
+		assertEquals(2, histogram[14]);
+		assertEquals(1, histogram[3999]);
+		assertEquals(0, histogram[1]);
+	}
+
+	@Test
+	public void emptyColumn_hasNoMinOrMax() {
+		RomanNumeralColumn column = new RomanNumeralColumn(10);
+		assertEquals(-1, column.min());
+		assertEquals(-1, column.max());
+		assertEquals(0, column.sum());
+	}
+
+	@Test
+	public void invalidValue_throwsException() {
+		illegalArgument.expect(IllegalArgumentException.class);
+		new RomanNumeralColumn(1).add(4000);
+	}
+
+	@Test
+	public void values_formatIntoBuffers() {
+		RomanNumeralColumn column = column(3732, 0, 1994);
+
+		ByteBuffer bytes = ByteBuffer.allocate(32);
+		assertEquals(11, column.format(0, bytes));
+		assertEquals(0, column.format(1, bytes));
+		assertEquals(7, column.format(2, bytes));
+		assertEquals("MMMDCCXXXIIMCMXCIV", new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+
+		assertEquals("MMMDCCXXXII", column.format(0, new StringBuilder()).toString());
+		assertEquals(new RomanNumeral(1994), column.get(2));
+	}
+
+	@Test
+	public void everyValue_formatsAsRomanNumeral() {
+		RomanNumeralColumn column = new RomanNumeralColumn(RomanNumeralColumn.VALUE_RANGE);
+		for (int i = 0; i < RomanNumeralColumn.VALUE_RANGE; i++) {
+			column.add(i);
+		}
+
+		StringBuilder out = new StringBuilder();
+		for (int i = 0; i < column.size(); i++) {
+			out.setLength(0);
+			assertEquals(new RomanNumeral(i).toString(), column.format(i, out).toString());
+		}
+	}
+
+	@Test
+	public void mappedColumn_persistsValues() throws IOException {
+		File file = new File(folder.getRoot(), "column.bin");
+
+		RomanNumeralColumn column = RomanNumeralColumn.map(file.toPath(), 1000);
+		assertEquals(1000, column.size());
+		for (int i = 0; i < column.size(); i++) {
+			column.set(i, i * 3);
+		}
+		column.force();
+
+		assertEquals(2000, file.length());
+		RomanNumeralColumn reopened = RomanNumeralColumn.map(file.toPath(), 1000);
+		assertEquals(2997, reopened.max());
+		assertEquals(1500, reopened.getInt(500));
+	}
+
+	@Test
+	public void mappedColumn_rejectsInvalidFile() throws IOException {
+		File file = new File(folder.getRoot(), "column.bin");
+		Files.write(file.toPath(), new byte[] { 1, 0, (byte) 0xA0, 0x0F });
+
+		try {
+			RomanNumeralColumn.map(file.toPath(), 2);
+			fail("4000 is not a valid column value");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("invalid value 4000 at index 1"));
+		}
+	}
+}
@@ -0,0 +1,305 @@
+package kjd.romannumerals;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Allocation and throughput regression gate for the public conversion methods.  Each operation is
+ * warmed up and then measured for bytes allocated per operation (using
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}) and operations per second,
+ * keeping the best of several rounds.
+ * <p>
+ * Raw operations per second depend on the machine, so throughput is gated relative to a calibration
+ * loop measured in the same JVM, in rounds alternating with the operation's: a relative speed of 2.0
+ * means the operation runs twice as many times per second as the calibration.  Results are compared against performance-baselines.properties,
+ * failing if an operation allocates more or runs relatively slower than its baseline allows.
+ * <p>
+ * Only run by the perf profile: {@code mvn -Pperf test}.  Running with {@code -Dperf.record=true}
+ * writes the measured values to target/performance-baselines.properties instead of asserting,
+ * ready to be copied over the checked in baselines.
+ *
+ * @author kendavidson
+ *
+ */
+@RunWith(JUnit4.class)
+public class RomanNumeralPerformanceTest {
+
+	/**
+	 * Operation under measurement, run with an index into the prepared inputs.  Results are
+	 * returned so they can be consumed and not optimized away.
+	 */
+	@FunctionalInterface
+	private static interface Operation {
+		Object run(int index);
+	}
+
+	private static final String BASELINES = "performance-baselines.properties";
+
+	private static final long WARMUP_NANOS = 500000000L;
+
+	/**
+	 * Measurements are taken over several rounds, keeping the best, so a single round disturbed by
+	 * GC or another process doesn't fail the build.
+	 */
+	private static final int ROUNDS = 5;
+
+	private static final long ROUND_NANOS = 200000000L;
+
+	/**
+	 * Inputs cycling through the full range of values.
+	 */
+	private static final int INPUTS = 4000;
+
+	private static final int[] INTEGERS = new int[INPUTS];
+	private static final String[] NUMERALS = new String[INPUTS];
+	private static final RomanNumeral[] ROMAN_NUMERALS = new RomanNumeral[INPUTS];
+	private static final RomanNumeral.Symbol[][] SYMBOLS = new RomanNumeral.Symbol[INPUTS][];
+	private static final LocalDate[] DATES = new LocalDate[INPUTS];
+
+	private static com.sun.management.ThreadMXBean threads;
+	private static Properties baselines;
+	private static Properties measured;
+
+	/**
+	 * Consumes results so operations can't be eliminated.
+	 */
+	private static int sink;
+
+	@BeforeClass
+	public static void setUp() throws IOException {
+		threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assertTrue("Thread allocation measurement is not supported", threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		for (int i = 0; i < INPUTS; i++) {
+			INTEGERS[i] = i;
+			ROMAN_NUMERALS[i] = new RomanNumeral(i);
+			NUMERALS[i] = ROMAN_NUMERALS[i].toString();
+			SYMBOLS[i] = RomanNumeral.parseString(NUMERALS[i]);
+			DATES[i] = LocalDate.of(2026, 1 + i % 12, 1 + i % 28);
+		}
+
+		baselines = new Properties();
+		try (InputStream in = RomanNumeralPerformanceTest.class.getResourceAsStream(BASELINES)) {
+			assertNotNull(BASELINES + " is missing", in);
+			baselines.load(in);
+		}
+		measured = new Properties();
+	}
+
+	/**
+	 * Fixed, allocation free amount of work for the JVM and machine to be measured by: hashing the
+	 * characters of a numeral, much as the conversions walk their input.
+	 *
+	 * @param index
+	 * @return
+	 */
+	private static Object calibration(int index) {
+		String numeral = NUMERALS[index];
+		int hash = 0;
+		for (int i = 0; i < numeral.length(); i++) {
+			hash = 31 * hash + numeral.charAt(i);
+		}
+		sink += hash;
+		return numeral;
+	}
+
+	@AfterClass
+	public static void tearDown() throws IOException {
+		if (Boolean.getBoolean("perf.record")) {
+			File file = new File("target", BASELINES);
+			file.getParentFile().mkdirs();
+			try (OutputStream out = new FileOutputStream(file)) {
+				measured.store(out, "Measured by RomanNumeralPerformanceTest");
+			}
+		}
+	}
+
+	/**
+	 * Measures an operation and compares it against its baseline.
+	 *
+	 * @param name
+	 * @param operation
+	 */
+	private static void assertWithinBaseline(String name, Operation operation) {
+		Operation calibration = RomanNumeralPerformanceTest::calibration;
+		run(calibration, WARMUP_NANOS);
+		run(operation, WARMUP_NANOS);
+
+		long thread = Thread.currentThread().getId();
+		double bytesPerOp = Double.MAX_VALUE;
+		double opsPerSec = 0;
+		double calibrationOpsPerSec = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long calibrationStart = System.nanoTime();
+			long calibrationOps = run(calibration, ROUND_NANOS);
+			calibrationOpsPerSec = Math.max(calibrationOpsPerSec, calibrationOps * 1e9 / (System.nanoTime() - calibrationStart));
+
+			long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+			long ops = run(operation, ROUND_NANOS);
+			long elapsed = System.nanoTime() - start;
+			long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+			bytesPerOp = Math.min(bytesPerOp, (double) allocated / ops);
+			opsPerSec = Math.max(opsPerSec, ops * 1e9 / elapsed);
+		}
+		double relativeSpeed = opsPerSec / calibrationOpsPerSec;
+		measured.setProperty(name + ".bytesPerOp", String.format(Locale.ROOT, "%.1f", bytesPerOp));
+		measured.setProperty(name + ".relativeSpeed", String.format(Locale.ROOT, "%.4f", relativeSpeed));
+		System.out.println(String.format(Locale.ROOT, "%-24s %10.1f bytes/op %,14.0f ops/s %8.4f relative",
+				name, bytesPerOp, opsPerSec, relativeSpeed));
+
+		if (Boolean.getBoolean("perf.record")) {
+			return;
+		}
+
+		double baselineBytes = baseline(name + ".bytesPerOp");
+		double baselineSpeed = baseline(name + ".relativeSpeed");
+		double allowedBytes = baselineBytes * (1 + baseline("tolerance.bytesPerOp")) + baseline("tolerance.bytesPerOpSlack");
+		double allowedSpeed = baselineSpeed * (1 - baseline("tolerance.relativeSpeed"));
+
+		assertTrue(String.format(Locale.ROOT, "%s allocates %.1f bytes/op, baseline %.1f allows %.1f", name, bytesPerOp, baselineBytes, allowedBytes),
+				bytesPerOp <= allowedBytes);
+		assertTrue(String.format(Locale.ROOT, "%s runs at %.4f of calibration speed, baseline %.4f requires %.4f. "
+				+ "If the JDK has changed rather than the code, re-record the baselines with -Dperf.record=true",
+				name, relativeSpeed, baselineSpeed, allowedSpeed),
+				relativeSpeed >= allowedSpeed);
+	}
+
+	/**
+	 * Runs an operation in batches for at least the given time, returning the number of operations run.
+	 *
+	 * @param operation
+	 * @param nanos
+	 * @return
+	 */
+	private static long run(Operation operation, long nanos) {
+		long ops = 0;
+		long end = System.nanoTime() + nanos;
+		do {
+			for (int i = 0; i < INPUTS; i++) {
+				Object result = operation.run(i);
+				sink += result == null ? 0 : 1;
+			}
+			ops += INPUTS;
+		} while (System.nanoTime() < end);
+		return ops;
+	}
+
+	private static double baseline(String key) {
+		String value = System.getProperty("perf." + key, baselines.getProperty(key));
+		assertNotNull("No baseline for " + key, value);
+		return Double.parseDouble(value);
+	}
+
+	@Test
+	public void integerConstructor() {
+		assertWithinBaseline("integerConstructor", i -> new RomanNumeral(INTEGERS[i]));
+	}
+
+	@Test
+	public void stringConstructor() {
+		assertWithinBaseline("stringConstructor", i -> new RomanNumeral(NUMERALS[i]));
+	}
+
+	@Test
+	public void symbolConstructor() {
+		assertWithinBaseline("symbolConstructor", i -> new RomanNumeral(SYMBOLS[i]));
+	}
+
+	@Test
+	public void toInteger() {
+		assertWithinBaseline("toInteger", i -> ROMAN_NUMERALS[i].toInteger() == INTEGERS[i] ? NUMERALS : null);
+	}
+
+	@Test
+	public void toStringConversion() {
+		assertWithinBaseline("toString", i -> ROMAN_NUMERALS[i].toString());
+	}
+
+	@Test
+	public void validateString() {
+		assertWithinBaseline("validateString", i -> RomanNumeral.validate(NUMERALS[i]) ? NUMERALS : null);
+	}
+
+	@Test
+	public void validateInteger() {
+		assertWithinBaseline("validateInteger", i -> RomanNumeral.validate(INTEGERS[i]) ? NUMERALS : null);
+	}
+
+	@Test
+	public void parseValue() {
+		assertWithinBaseline("parseValue", i -> RomanNumeral.parseValue(NUMERALS[i]) == INTEGERS[i] ? NUMERALS : null);
+	}
+
+	@Test
+	public void valueOrder() {
+		assertWithinBaseline("valueOrder",
+				i -> RomanNumeral.VALUE_ORDER.compare(NUMERALS[i], NUMERALS[INPUTS - 1 - i]) < 0 ? NUMERALS : null);
+	}
+
+	@Test
+	public void sortByValue() {
+		String[] numerals = new String[INPUTS];
+		assertWithinBaseline("sortByValue", i -> {
+			// Measured per element: one sort of INPUTS elements every INPUTS operations
+			if (i == 0) {
+				System.arraycopy(NUMERALS, 0, numerals, 0, INPUTS);
+				RomanNumeral.sortByValue(numerals);
+			}
+			return numerals;
+		});
+	}
+
+	@Test
+	public void dateFormatter() {
+		StringBuilder out = new StringBuilder();
+		assertWithinBaseline("dateFormatter", i -> {
+			out.setLength(0);
+			return RomanDateFormatter.DAY_MONTH_YEAR.formatTo(DATES[i], out);
+		});
+	}
+
+	@Test
+	public void dateFormat() {
+		assertWithinBaseline("dateFormat", i -> RomanDateFormatter.DAY_MONTH_YEAR.format(DATES[i]));
+	}
+
+	@Test
+	public void scanner() {
+		RomanNumeralScanner scanner = new RomanNumeralScanner((start, end, value) -> sink += value);
+		assertWithinBaseline("scanner", i -> {
+			scanner.feed(NUMERALS[i]).finish();
+			return scanner;
+		});
+	}
+
+	@Test
+	public void columnFormat() {
+		RomanNumeralColumn column = new RomanNumeralColumn(INPUTS);
+		for (int i = 0; i < INPUTS; i++) {
+			column.add(INTEGERS[i]);
+		}
+		StringBuilder out = new StringBuilder();
+		assertWithinBaseline("columnFormat", i -> {
+			out.setLength(0);
+			return column.format(i, out);
+		});
+	}
+}
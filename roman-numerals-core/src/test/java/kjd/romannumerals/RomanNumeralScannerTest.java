@@ -0,0 +1,105 @@
+package kjd.romannumerals;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RomanNumeralScannerTest {
+
+	private static final String TEXT = "Chapter XIV: Louis XVI watched Super Bowl LVIII, a mix MIX.";
+
+	private static final String EXPECTED = "[8-11=14, 19-22=16, 42-47=58, 55-58=1009]";
+
+	private static class Collector implements RomanNumeralScanner.MatchHandler {
+		private final List<String> matches = new ArrayList<String>();
+
+		@Override
+		public void match(long start, long end, int value) {
+			matches.add(start + "-" + end + "=" + value);
+		}
+
+		@Override
+		public String toString() {
+			return matches.toString();
+		}
+	}
+
+	@Test
+	public void embeddedNumerals_areFound() {
+		Collector collector = new Collector();
+		RomanNumeralScanner.scan(TEXT, collector);
+		assertEquals(EXPECTED, collector.toString());
+	}
+
+	@Test
+	public void partialWords_areNotMatched() {
+		Collector collector = new Collector();
+		RomanNumeralScanner.scan("MIXED Civic DIVE XIV2 IIII", collector);
+		assertEquals("[]", collector.toString());
+	}
+
+	@Test
+	public void lowercaseNumerals_areNotMatchedByDefault() {
+		Collector collector = new Collector();
+		RomanNumeralScanner.scan("page xlii, civil mix", collector);
+		assertEquals("[]", collector.toString());
+	}
+
+	@Test
+	public void lowercaseNumerals_areMatchedIgnoringCase() {
+		Collector collector = new Collector();
+		RomanNumeralScanner.scan("page xlii", true, collector);
+		assertEquals("[5-9=42]", collector.toString());
+
+		collector = new Collector();
+		RomanNumeralScanner.scan(TEXT, true, collector);
+		assertEquals("[8-11=14, 19-22=16, 42-47=58, 51-54=1009, 55-58=1009]", collector.toString());
+	}
+
+	@Test
+	public void everyValidNumeral_matchesItsValue() {
+		for (int i = 1; i < 4000; i++) {
+			Collector collector = new Collector();
+			String numeral = new RomanNumeral(i).toString();
+			RomanNumeralScanner.scan(numeral, collector);
+			assertEquals("[0-" + numeral.length() + "=" + i + "]", collector.toString());
+		}
+	}
+
+	@Test
+	public void chunkedFeed_matchesAcrossChunks() {
+		Collector collector = new Collector();
+		RomanNumeralScanner scanner = new RomanNumeralScanner(collector);
+		for (int i = 0; i < TEXT.length(); i += 3) {
+			scanner.feed(TEXT.subSequence(i, Math.min(i + 3, TEXT.length())));
+		}
+		scanner.finish();
+		assertEquals(EXPECTED, collector.toString());
+		assertEquals(TEXT.length(), scanner.position());
+	}
+
+	@Test
+	public void reader_matchesSameAsCharSequence() throws IOException {
+		Collector collector = new Collector();
+		RomanNumeralScanner.scan(new StringReader(TEXT), collector);
+		assertEquals(EXPECTED, collector.toString());
+	}
+
+	@Test
+	public void charBuffer_positionIsUnchanged() {
+		Collector collector = new Collector();
+		CharBuffer buffer = CharBuffer.wrap(TEXT);
+		RomanNumeralScanner.scan(buffer, collector);
+		assertEquals(EXPECTED, collector.toString());
+		assertEquals(0, buffer.position());
+	}
+}
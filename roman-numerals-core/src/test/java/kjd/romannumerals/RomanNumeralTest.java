@@ -2,6 +2,8 @@ package kjd.romannumerals;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -87,5 +89,47 @@ public class RomanNumeralTest {
 		assertFalse(second.equals(first));
 	}	
 	
+	@Test
+	public void parseValue_returnsValueOrInvalid() {
+		assertEquals(2026, RomanNumeral.parseValue("MMXXVI"));
+		assertEquals(14, RomanNumeral.parseValue("xiv"));
+		assertEquals(0, RomanNumeral.parseValue(""));
+		assertEquals(-1, RomanNumeral.parseValue("IIII"));
+		assertEquals(-1, RomanNumeral.parseValue("Louis"));
+	}
+	
+	@Test
+	public void valueOrder_comparesByValue() {
+		assertTrue(RomanNumeral.VALUE_ORDER.compare("IX", "X") < 0);
+		assertTrue(RomanNumeral.VALUE_ORDER.compare("M", "CMXCIX") > 0);
+		assertEquals(0, RomanNumeral.VALUE_ORDER.compare("xiv", "XIV"));
+	}
+	
+	@Test
+	public void valueOrder_invalidNumeral_throwsException() {
+		illegalArgument.expect(IllegalArgumentException.class);
+		RomanNumeral.VALUE_ORDER.compare("IIII", "I");
+	}
+	
+	@Test
+	public void sortByValue_sortsStably() {
+		String[] numerals = { "X", "MMXXVI", "", "iv", "IV", "III", "MMMCMXCIX", "I" };
+		RomanNumeral.sortByValue(numerals);
+		assertArrayEquals(new String[] { "", "I", "III", "iv", "IV", "X", "MMXXVI", "MMMCMXCIX" }, numerals);
+	}
+	
+	@Test
+	public void sortByValue_matchesComparator() {
+		String[] numerals = new String[4000];
+		for (int i = 0; i < numerals.length; i++) {
+			numerals[i] = new RomanNumeral((i * 7919) % 4000).toString();
+		}
+		String[] expected = numerals.clone();
+		Arrays.sort(expected, RomanNumeral.VALUE_ORDER);
+		
+		RomanNumeral.sortByValue(numerals);
+		assertArrayEquals(expected, numerals);
+	}
+	
 }
 
@@ -0,0 +1,107 @@
+package kjd.romannumerals;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Startup time measurement harness.  Launches a fresh JVM running the supplied main class a number
+ * of times and reports how long it takes for that JVM to print {@link #READY}, which the main class
+ * does once it has reached its milestone (first conversion, first frame, etc).  Timing starts
+ * before the process is launched, so it covers JVM boot, class loading and initialization.
+ * <p>
+ * When a CDS archive is supplied and exists, each run is repeated with
+ * {@code -XX:SharedArchiveFile} so the two can be compared.
+ * <p>
+ * Usage: {@code StartupTiming <main class> [archive]}, with {@code -Dstartup.runs} controlling the
+ * number of runs (default 10).  The launched JVM uses the harness's own class path.
+ *
+ * @author kendavidson
+ *
+ */
+public class StartupTiming {
+
+	/**
+	 * Line printed by a launched main class once its milestone is reached.
+	 */
+	public static final String READY = "READY";
+
+	/**
+	 * Main class measuring time to first conversion; converts a value each way and signals ready.
+	 */
+	public static class FirstConversion {
+		public static void main(String[] args) {
+			int value = new RomanNumeral("MMXXVI").toInteger();
+			String numeral = new RomanNumeral(value).toString();
+			System.out.println(READY + " time-to-first-conversion " + numeral);
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: StartupTiming <main class> [archive]");
+			System.exit(1);
+		}
+
+		int runs = Integer.getInteger("startup.runs", 10);
+		String mainClass = args[0];
+		File archive = args.length > 1 ? new File(args[1]) : null;
+
+		report(mainClass, "default", time(mainClass, runs));
+		if (archive != null && archive.isFile()) {
+			report(mainClass, "appcds", time(mainClass, runs, "-XX:SharedArchiveFile=" + archive.getPath()));
+		}
+	}
+
+	/**
+	 * Launches mainClass runs times, returning the milliseconds taken to become ready for each.
+	 *
+	 * @param mainClass
+	 * @param runs
+	 * @param jvmArgs
+	 * @return
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private static long[] time(String mainClass, int runs, String... jvmArgs) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(Arrays.asList(jvmArgs));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(mainClass);
+
+		long[] millis = new long[runs];
+		for (int run = 0; run < runs; run++) {
+			long start = System.nanoTime();
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+
+			String line;
+			while ((line = reader.readLine()) != null && !line.startsWith(READY)) {
+				System.out.println(line);
+			}
+			if (line == null) {
+				throw new IllegalStateException(mainClass + " exited without signalling " + READY);
+			}
+			millis[run] = (System.nanoTime() - start) / 1000000;
+
+			while (reader.readLine() != null) {
+				// Drain remaining output so the process can exit
+			}
+			process.waitFor();
+		}
+		return millis;
+	}
+
+	private static void report(String mainClass, String mode, long[] millis) {
+		long[] sorted = millis.clone();
+		Arrays.sort(sorted);
+		System.out.println(String.format("%s [%s] runs=%d min=%dms median=%dms max=%dms",
+				mainClass, mode, sorted.length, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]));
+	}
+}
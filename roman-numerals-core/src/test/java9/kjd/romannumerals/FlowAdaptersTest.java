@@ -0,0 +1,99 @@
+package kjd.romannumerals;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FlowAdaptersTest {
+
+	/**
+	 * JDK Subscriber recording received items, requesting everything up front.
+	 */
+	private static class RecordingSubscriber<T> implements java.util.concurrent.Flow.Subscriber<T> {
+		private final List<T> items = Collections.synchronizedList(new ArrayList<T>());
+		private final CountDownLatch done = new CountDownLatch(1);
+		private volatile Throwable error;
+
+		@Override
+		public void onSubscribe(java.util.concurrent.Flow.Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+	}
+
+	@Test
+	public void submissionPublisher_convertsThroughProcessor() throws InterruptedException {
+		List<Integer> invalid = Collections.synchronizedList(new ArrayList<Integer>());
+		java.util.concurrent.Flow.Processor<Integer, RomanNumeral> processor =
+				FlowAdapters.toFlowProcessor(ConversionProcessor.toNumerals((i, e) -> invalid.add(i)));
+		RecordingSubscriber<RomanNumeral> subscriber = new RecordingSubscriber<RomanNumeral>();
+
+		try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<Integer>()) {
+			publisher.subscribe(processor);
+			processor.subscribe(subscriber);
+			for (int i = -1; i <= 4000; i++) {
+				publisher.submit(i);
+			}
+		}
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertNull(subscriber.error);
+		assertEquals(4000, subscriber.items.size());
+		for (int i = 0; i < 4000; i++) {
+			assertEquals(new RomanNumeral(i), subscriber.items.get(i));
+		}
+		assertEquals(2, invalid.size());
+		assertEquals(Integer.valueOf(-1), invalid.get(0));
+		assertEquals(Integer.valueOf(4000), invalid.get(1));
+	}
+
+	@Test
+	public void publisher_roundTripsBetweenInterfaces() throws InterruptedException {
+		RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>();
+
+		try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<Integer>()) {
+			FlowAdapters.toFlowPublisher(FlowAdapters.toPublisher(publisher)).subscribe(subscriber);
+			publisher.submit(14);
+			publisher.submit(2026);
+		}
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertEquals(2, subscriber.items.size());
+		assertEquals(Integer.valueOf(2026), subscriber.items.get(1));
+	}
+
+	@Test
+	public void adaptingNull_throwsException() {
+		try {
+			FlowAdapters.toFlowProcessor(null);
+			fail("null cannot be adapted");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
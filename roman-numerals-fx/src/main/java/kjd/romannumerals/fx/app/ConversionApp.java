@@ -2,11 +2,15 @@ package kjd.romannumerals.fx.app;
 
 import javafx.application.Application;
 import javafx.scene.Scene;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TabPane.TabClosingPolicy;
 import javafx.stage.Stage;
+import kjd.romannumerals.fx.control.BulkConversionPane;
 import kjd.romannumerals.fx.control.ConversionPane;
 
 /**
- * Roman numeral conversion tool.
+ * Roman numeral conversion tool, converting single values or a file of values in bulk.
  * 
  * @author kendavidson
  *
@@ -24,7 +28,20 @@ public class ConversionApp extends Application {
 
 	@Override
 	public void start(Stage primaryStage) throws Exception {
-		Scene scene = new Scene(new ConversionPane(10));
+		// The bulk pane is only built when first shown, keeping it off the startup path
+		Tab bulk = new Tab("Bulk");
+		bulk.setOnSelectionChanged(event -> {
+			if (bulk.isSelected() && bulk.getContent() == null) {
+				bulk.setContent(new BulkConversionPane(10));
+				// The window was sized for the single value pane; grow it to fit the table
+				primaryStage.sizeToScene();
+			}
+		});
+
+		TabPane tabs = new TabPane(new Tab("Convert", new ConversionPane(10)), bulk);
+		tabs.setTabClosingPolicy(TabClosingPolicy.UNAVAILABLE);
+		
+		Scene scene = new Scene(tabs);
 		primaryStage.setScene(scene);
 		primaryStage.sizeToScene();
 		primaryStage.show();
@@ -0,0 +1,314 @@
+package kjd.romannumerals.fx.control;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import kjd.romannumerals.RomanNumeral;
+import kjd.romannumerals.RomanNumeralColumn;
+
+/**
+ * BulkConversionPane loads a file of values (one Integer or Roman Numeral per line) and shows
+ * each alongside its conversion in a {@link TableView}.  The values are held in a
+ * {@link RomanNumeralColumn}, 2 bytes per row outside the heap, and the table's items are just
+ * row indices; the Integer and Roman Numeral cells are computed as rows are rendered.  Since the
+ * TableView only creates cells for visible rows, memory stays flat however large the file.
+ * <p>
+ * Files are loaded on a background {@link Task}, with progress and status shown beneath the
+ * table.  Lines which are neither a valid Integer nor a valid Roman Numeral are skipped and counted.
+ *
+ * @author kendavidson
+ *
+ */
+public class BulkConversionPane extends VBox {
+
+	/**
+	 * Number of lines read between progress updates.
+	 */
+	private static final int PROGRESS_INTERVAL = 10000;
+
+	/**
+	 * Unmodifiable list of the row indices 0 to size - 1, computed rather than stored.
+	 */
+	private static class RowIndexList extends ObservableListBase<Integer> {
+		private final int size;
+
+		private RowIndexList(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public Integer get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException(String.format("Index %d is outside of size %d", index, size));
+			}
+			return index;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	@FXML
+	private TableView<Integer> tvValues = new TableView<Integer>();
+
+	@FXML
+	private TableColumn<Integer, Integer> tcRow = new TableColumn<Integer, Integer>("Row");
+
+	@FXML
+	private TableColumn<Integer, Integer> tcInteger = new TableColumn<Integer, Integer>("Integer");
+
+	@FXML
+	private TableColumn<Integer, String> tcRomanNumeral = new TableColumn<Integer, String>("Roman Numeral");
+
+	@FXML
+	private Button btnOpen = new Button("Open...");
+
+	@FXML
+	private ProgressBar pbLoad = new ProgressBar(0);
+
+	@FXML
+	private Label lblStatus = new Label();
+
+	/**
+	 * Values of the currently loaded file.
+	 */
+	private RomanNumeralColumn values = new RomanNumeralColumn(0);
+
+	/**
+	 * Reused when formatting Roman Numeral cells, which only happens on the FX thread.
+	 */
+	private final StringBuilder numeralBuilder = new StringBuilder();
+
+	/**
+	 * Task loading the current file, if any.
+	 */
+	private Task<RomanNumeralColumn> loadTask;
+
+	public BulkConversionPane() {
+		super();
+		init();
+	}
+
+	public BulkConversionPane(double spacing) {
+		super(spacing);
+		init();
+	}
+
+	public BulkConversionPane(Node... children) {
+		super(children);
+		init();
+	}
+
+	public BulkConversionPane(double spacing, Node... children) {
+		super(spacing, children);
+		init();
+	}
+
+	protected void init() {
+		setPadding(new Insets(10.0, 10.0, 10.0, 10.0));
+
+		tcRow.setCellValueFactory(features -> new ReadOnlyObjectWrapper<Integer>(features.getValue() + 1));
+		tcInteger.setCellValueFactory(features -> new ReadOnlyObjectWrapper<Integer>(values.getInt(features.getValue())));
+		tcRomanNumeral.setCellValueFactory(features -> {
+			numeralBuilder.setLength(0);
+			return new ReadOnlyStringWrapper(values.format(features.getValue(), numeralBuilder).toString());
+		});
+
+		// Items are a computed list of indices which can't be reordered
+		tcRow.setSortable(false);
+		tcInteger.setSortable(false);
+		tcRomanNumeral.setSortable(false);
+		tcRomanNumeral.setPrefWidth(150);
+
+		tvValues.getColumns().add(tcRow);
+		tvValues.getColumns().add(tcInteger);
+		tvValues.getColumns().add(tcRomanNumeral);
+		tvValues.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+		tvValues.setPlaceholder(new Label("Open a file with one Integer or Roman Numeral per line"));
+		tvValues.setMinHeight(300);
+		VBox.setVgrow(tvValues, Priority.ALWAYS);
+
+		btnOpen.setOnAction(event -> {
+			FileChooser chooser = new FileChooser();
+			chooser.setTitle("Open Values");
+			File file = chooser.showOpenDialog(getScene().getWindow());
+			if (file != null) {
+				load(file);
+			}
+		});
+
+		pbLoad.setVisible(false);
+		HBox hbStatus = new HBox(10, btnOpen, pbLoad, lblStatus);
+
+		getChildren().addAll(hbStatus, tvValues);
+	}
+
+	/**
+	 * Loads a file of values on a background thread, replacing the table contents once complete.
+	 * Any load already in progress is cancelled.
+	 *
+	 * @param file
+	 * @return the Task loading the file
+	 */
+	public Task<RomanNumeralColumn> load(File file) {
+		if (loadTask != null) {
+			loadTask.cancel();
+		}
+
+		Task<RomanNumeralColumn> task = createLoadTask(file);
+		task.setOnSucceeded(event -> {
+			values = task.getValue();
+			tvValues.setItems(new RowIndexList(values.size()));
+		});
+		task.setOnFailed(event -> {
+			lblStatus.textProperty().unbind();
+			lblStatus.setText(String.format("Unable to load %s: %s", file.getName(), task.getException().getMessage()));
+		});
+
+		pbLoad.progressProperty().bind(task.progressProperty());
+		pbLoad.visibleProperty().bind(task.runningProperty());
+		btnOpen.disableProperty().bind(task.runningProperty());
+		lblStatus.textProperty().bind(task.messageProperty());
+
+		loadTask = task;
+		Thread thread = new Thread(task, "bulk-conversion-load");
+		thread.setDaemon(true);
+		thread.start();
+		return task;
+	}
+
+	/**
+	 * Creates the Task reading a file into a {@link RomanNumeralColumn}.  The file is read twice:
+	 * once to count lines so the column can be sized exactly, then again to parse the values.
+	 *
+	 * @param file
+	 * @return
+	 */
+	protected Task<RomanNumeralColumn> createLoadTask(File file) {
+		return new Task<RomanNumeralColumn>() {
+			@Override
+			protected RomanNumeralColumn call() throws Exception {
+				long length = Math.max(1, file.length());
+
+				updateMessage(String.format("Counting lines in %s", file.getName()));
+				int lines = countLines(file, length);
+
+				RomanNumeralColumn column = new RomanNumeralColumn(lines);
+				int invalid = 0;
+				long read = 0;
+				try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+					String line;
+					int count = 0;
+					while ((line = reader.readLine()) != null && !isCancelled()) {
+						read += line.length() + 1;
+						String trimmed = line.trim();
+						if (!trimmed.isEmpty()) {
+							int value = parseValue(trimmed);
+							if (value < 0) {
+								invalid++;
+							} else {
+								column.add(value);
+							}
+						}
+
+						if (++count % PROGRESS_INTERVAL == 0) {
+							updateProgress(length + Math.min(read, length), 2 * length);
+							updateMessage(String.format("Loaded %,d of %,d lines", count, lines));
+						}
+					}
+				}
+
+				updateProgress(1, 1);
+				updateMessage(String.format("Loaded %,d values from %s (%,d invalid lines skipped)",
+						column.size(), file.getName(), invalid));
+				return column;
+			}
+
+			/**
+			 * Counts the lines in the file, as split by {@link BufferedReader#readLine()}, reporting
+			 * progress over the first half of the load.
+			 */
+			private int countLines(File file, long length) throws IOException {
+				byte[] buffer = new byte[64 * 1024];
+				long read = 0;
+				int lines = 0;
+				byte last = '\n';
+				try (InputStream in = Files.newInputStream(file.toPath())) {
+					int n;
+					while ((n = in.read(buffer)) != -1 && !isCancelled()) {
+						for (int i = 0; i < n; i++) {
+							// \r, \n and \r\n each end a line
+							if (buffer[i] == '\r' || (buffer[i] == '\n' && last != '\r')) {
+								lines++;
+							}
+							last = buffer[i];
+						}
+						read += n;
+						updateProgress(read, 2 * length);
+					}
+				}
+				return (last == '\n' || last == '\r') ? lines : lines + 1;
+			}
+		};
+	}
+
+	/**
+	 * Parses a line as either an Integer or a Roman Numeral.
+	 *
+	 * @param text
+	 * @return the value, or -1 if the text is neither
+	 */
+	protected static int parseValue(String text) {
+		if (text.isEmpty()) {
+			return -1;
+		}
+		if (text.length() > 4) {
+			return RomanNumeral.parseValue(text);
+		}
+
+		int value = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return RomanNumeral.parseValue(text);
+			}
+			value = value * 10 + (c - '0');
+		}
+		return RomanNumeral.validate(value) ? value : -1;
+	}
+
+	/**
+	 * Returns the values of the currently loaded file.
+	 *
+	 * @return
+	 */
+	public RomanNumeralColumn getValues() {
+		return values;
+	}
+
+	public TableView<Integer> getTableView() {
+		return tvValues;
+	}
+}
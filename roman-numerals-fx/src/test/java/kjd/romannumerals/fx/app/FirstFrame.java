@@ -0,0 +1,35 @@
+package kjd.romannumerals.fx.app;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import kjd.romannumerals.StartupTiming;
+
+/**
+ * Launches the {@link ConversionApp} for {@link StartupTiming}, signalling ready and exiting once
+ * the first frame has been rendered (the first animation pulse after the Stage is shown).
+ *
+ * @author kendavidson
+ *
+ */
+public class FirstFrame extends ConversionApp {
+
+	public static void main(String[] args) {
+		Application.launch(FirstFrame.class, args);
+	}
+
+	@Override
+	public void start(Stage primaryStage) throws Exception {
+		super.start(primaryStage);
+
+		new AnimationTimer() {
+			@Override
+			public void handle(long now) {
+				stop();
+				System.out.println(StartupTiming.READY + " time-to-first-frame");
+				Platform.exit();
+			}
+		}.start();
+	}
+}
@@ -0,0 +1,70 @@
+package kjd.romannumerals.fx.control;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.testfx.framework.junit.ApplicationTest;
+import org.testfx.util.WaitForAsyncUtils;
+
+import javafx.concurrent.Task;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import kjd.romannumerals.RomanNumeralColumn;
+
+@RunWith(JUnit4.class)
+public class BulkConversionPaneTest extends ApplicationTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private BulkConversionPane pane;
+	
+	@Override
+	public void start(Stage stage) throws Exception {
+		pane = new BulkConversionPane(10);
+		stage.setScene(new Scene(pane));
+		stage.show();
+	}
+	
+	@Test
+	public void parseValue_acceptsIntegersAndNumerals() {
+		assertEquals(14, BulkConversionPane.parseValue("14"));
+		assertEquals(14, BulkConversionPane.parseValue("XIV"));
+		assertEquals(-1, BulkConversionPane.parseValue("4000"));
+		assertEquals(-1, BulkConversionPane.parseValue("IIII"));
+		assertEquals(-1, BulkConversionPane.parseValue("Louis"));
+		assertEquals(-1, BulkConversionPane.parseValue("\u0661\u0664"));
+		assertEquals(-1, BulkConversionPane.parseValue(""));
+	}
+	
+	@Test
+	public void load_populatesTableLazily() throws Exception {
+		File file = folder.newFile("values.txt");
+		Files.write(file.toPath(), Arrays.asList("1", "XIV", "bogus", "", "3999"), StandardCharsets.UTF_8);
+		
+		Task<RomanNumeralColumn> task = pane.load(file);
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> task.isDone());
+		WaitForAsyncUtils.waitForFxEvents();
+		
+		TableView<Integer> table = pane.getTableView();
+		assertEquals(3, table.getItems().size());
+		
+		@SuppressWarnings("unchecked")
+		TableColumn<Integer, String> numerals = (TableColumn<Integer, String>) table.getColumns().get(2);
+		assertEquals("I", numerals.getCellData(0));
+		assertEquals("XIV", numerals.getCellData(1));
+		assertEquals("MMMCMXCIX", numerals.getCellData(2));
+	}
+}